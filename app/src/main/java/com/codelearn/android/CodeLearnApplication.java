@@ -2,6 +2,14 @@ package com.codelearn.android;
 
 import android.app.Application;
 
+import com.codelearn.android.data.ContentUpdateRepository;
+import com.codelearn.android.data.content.LessonAssetReader;
+import com.codelearn.android.data.progress.ProgressStore;
+import com.codelearn.android.data.progress.ResumePointStore;
+import com.codelearn.android.data.search.SearchRepository;
+import com.codelearn.android.ui.content.WebViewPool;
+import com.codelearn.android.utils.AppExecutors;
+
 /**
  * Application class for CodeLearn Android
  * Provides application-level context and initialization
@@ -19,6 +27,15 @@ public class CodeLearnApplication extends Application {
         initializeComponents();
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Idle WebViews are cheap to create again
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            WebViewPool.getInstance().clear();
+        }
+    }
+
     /**
      * Get singleton instance of the application
      * @return CodeLearnApplication instance
@@ -32,6 +49,24 @@ public class CodeLearnApplication extends Application {
      */
     private void initializeComponents() {
         // Initialize database
+        // Install and map the content pack before anything reads a lesson
+        AppExecutors.getInstance().executeDiskIO(LessonAssetReader.getInstance()::preparePack);
+
+        // Apply content packs or patches copied to the device for offline updates
+        ContentUpdateRepository.getInstance().applyPendingUpdates();
+
+        // Read the resume points now so the home screen can offer "continue" on its first frame
+        ResumePointStore.getInstance();
+
+        // Replay progress left in the journal by a killed process
+        ProgressStore.getInstance().recover();
+
+        // Build the search index in the background
+        SearchRepository.getInstance().buildIndex();
+
+        // Load Chromium once the first activity has drawn, so the first lesson opens fast
+        WebViewPool.getInstance().prewarmAfterFirstFrame(this);
+
         // Initialize analytics
         // Initialize crash reporting
         // Other application-wide components
@@ -59,6 +59,7 @@ public class MainActivity extends AppCompatActivity {
         // Define top-level destinations - course list and settings
         appBarConfiguration = new AppBarConfiguration.Builder(
                 R.id.courseListFragment,
+                R.id.homeFragment,
                 R.id.settingsFragment
         ).build();
 
@@ -86,6 +87,9 @@ public class MainActivity extends AppCompatActivity {
             case R.id.contentViewerFragment:
                 title = "Belajar";
                 break;
+            case R.id.homeFragment:
+                title = "Beranda";
+                break;
             case R.id.settingsFragment:
                 title = "Pengaturan";
                 break;
@@ -137,6 +141,10 @@ public class MainActivity extends AppCompatActivity {
 
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == R.id.action_home) {
+            navigateToHome();
+            return true;
+        }
         if (item.getItemId() == R.id.action_settings) {
             navigateToSettings();
             return true;
@@ -144,6 +152,15 @@ public class MainActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
+    /**
+     * Navigate to Home Fragment
+     */
+    private void navigateToHome() {
+        if (navController != null) {
+            navController.navigate(R.id.homeFragment);
+        }
+    }
+
     /**
      * Navigate to Settings Fragment
      */
@@ -0,0 +1,174 @@
+package com.codelearn.android.data;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.content.ContentUpdate;
+import com.codelearn.android.data.content.ContentUpdater;
+import com.codelearn.android.data.content.LessonAssetReader;
+import com.codelearn.android.data.progress.AchievementEngine;
+import com.codelearn.android.data.search.SearchRepository;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies offline content updates
+ *
+ * Updates are full content packs or delta patches built by buildContentPatch. They are
+ * imported from a document picked in Settings, or dropped into the app's external
+ * files folder (Android/data/&lt;package&gt;/files/content-updates) and applied on the next start.
+ * After an update only the changed lessons are re-indexed.
+ */
+public class ContentUpdateRepository {
+
+    private static final String TAG = "ContentUpdateRepository";
+
+    /**
+     * Callback for content imports. Called on the disk IO thread.
+     */
+    public interface ImportCallback {
+        void onContentImported(ContentUpdate update);
+
+        void onImportFailed(Exception e);
+    }
+
+    private final Context context;
+    private final ContentUpdater contentUpdater;
+    private final CourseRepository courseRepository;
+    private final SearchRepository searchRepository;
+    private final AchievementEngine achievementEngine;
+    private final AppExecutors appExecutors;
+
+    private ContentUpdateRepository(Context context, ContentUpdater contentUpdater, CourseRepository courseRepository,
+                                    SearchRepository searchRepository, AchievementEngine achievementEngine,
+                                    AppExecutors appExecutors) {
+        this.context = context;
+        this.contentUpdater = contentUpdater;
+        this.courseRepository = courseRepository;
+        this.searchRepository = searchRepository;
+        this.achievementEngine = achievementEngine;
+        this.appExecutors = appExecutors;
+    }
+
+    /**
+     * Returns the process-wide repository instance
+     * @return singleton ContentUpdateRepository instance
+     */
+    public static ContentUpdateRepository getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Import a pack or patch picked by the user
+     * @param uri document uri from the system file picker
+     * @param callback receives the applied update
+     */
+    public void importDocument(@NonNull Uri uri, @NonNull ImportCallback callback) {
+        appExecutors.diskIO().execute(() -> {
+            File copy = new File(context.getCacheDir(), "content-import");
+            try {
+                copyDocument(uri, copy);
+                callback.onContentImported(apply(copy));
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Content import failed", e);
+                callback.onImportFailed(e);
+            } finally {
+                copy.delete();
+            }
+        });
+    }
+
+    /**
+     * Apply update files waiting in the external content-updates folder, in name order.
+     * Applied files are deleted; rejected ones are renamed to "&lt;name&gt;.rejected".
+     */
+    public void applyPendingUpdates() {
+        appExecutors.diskIO().execute(() -> {
+            File updatesDir = context.getExternalFilesDir(Constants.CONTENT_UPDATES_DIR);
+            File[] files = updatesDir != null ? updatesDir.listFiles() : null;
+            if (files == null) {
+                return;
+            }
+
+            Arrays.sort(files);
+            for (File file : files) {
+                if (!file.isFile() || file.getName().endsWith(".rejected")) {
+                    continue;
+                }
+                try {
+                    apply(file);
+                    file.delete();
+                } catch (IOException | RuntimeException e) {
+                    Log.w(TAG, "Rejected content update " + file.getName(), e);
+                    file.renameTo(new File(file.getPath() + ".rejected"));
+                }
+            }
+        });
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    @WorkerThread
+    private ContentUpdate apply(File file) throws IOException {
+        ContentUpdate update = contentUpdater.importFile(file);
+
+        // The manifest inside the pack changed with it, so the catalog is synced again first
+        courseRepository.reloadCatalog(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                searchRepository.reindexChangedAssets(update.getChangedPaths());
+                // The new manifest may define more achievements
+                achievementEngine.invalidate();
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                Log.e(TAG, "Catalog not reloaded after content update", e);
+            }
+        });
+        return update;
+    }
+
+    private void copyDocument(Uri uri, File target) throws IOException {
+        try (InputStream in = context.getContentResolver().openInputStream(uri);
+             OutputStream out = new FileOutputStream(target)) {
+            if (in == null) {
+                throw new FileNotFoundException(uri.toString());
+            }
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final ContentUpdateRepository INSTANCE = new ContentUpdateRepository(
+                CodeLearnApplication.getInstance(),
+                new ContentUpdater(LessonAssetReader.getInstance(),
+                        new File(CodeLearnApplication.getInstance().getNoBackupFilesDir(), Constants.CONTENT_PACK_DIR)),
+                CourseRepository.getInstance(),
+                SearchRepository.getInstance(),
+                AchievementEngine.getInstance(),
+                AppExecutors.getInstance());
+    }
+}
@@ -0,0 +1,465 @@
+package com.codelearn.android.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.content.ContentManifest;
+import com.codelearn.android.data.content.LessonAssetReader;
+import com.codelearn.android.data.content.LessonMetadata;
+import com.codelearn.android.data.database.AchievementDao;
+import com.codelearn.android.data.database.AchievementEntity;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.CourseDao;
+import com.codelearn.android.data.database.CourseEntity;
+import com.codelearn.android.data.database.LessonEntity;
+import com.codelearn.android.data.database.ProgressEntity;
+import com.codelearn.android.data.progress.AchievementEngine;
+import com.codelearn.android.model.Achievement;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Repository for the offline course catalog
+ * Syncs the content manifest into Room on the disk IO executor when its version changes and serves course headers from memory afterwards.
+ * Filter, sort and "recent" queries run in SQLite and only return ids, which are mapped to the cached courses.
+ */
+public class CourseRepository {
+
+    /**
+     * Sort orders backed by database indexes
+     */
+    public enum SortOrder {
+        TITLE, DIFFICULTY, ID
+    }
+
+    /**
+     * Callback for catalog loading
+     */
+    public interface LoadCoursesCallback {
+        void onCoursesLoaded(List<Course> courses);
+
+        void onDataNotAvailable(Exception e);
+    }
+
+    /**
+     * Callback for lesson sequence loading
+     */
+    public interface LoadLessonsCallback {
+        void onLessonsLoaded(List<String> lessonSequence);
+
+        void onDataNotAvailable(Exception e);
+    }
+
+    /**
+     * Listener for catalog replacements after a content update, progress reset or progress commit
+     */
+    public interface CatalogListener {
+        void onCatalogChanged(List<Course> courses);
+    }
+
+    private final AppDatabase database;
+    private final ContentManifest contentManifest;
+    private final SharedPreferences preferences;
+    private final AppExecutors appExecutors;
+    private final List<LoadCoursesCallback> pendingCallbacks = new ArrayList<>();
+    private final List<CatalogListener> catalogListeners = new CopyOnWriteArrayList<>();
+
+    private volatile List<Course> cachedCourses;
+    private volatile Map<Integer, Course> coursesById = Collections.emptyMap();
+    private boolean loading;
+    private boolean reloadRequested;
+    private boolean catalogPublished;
+
+    CourseRepository(AppDatabase database, ContentManifest contentManifest,
+                     SharedPreferences preferences, AppExecutors appExecutors) {
+        this.database = database;
+        this.contentManifest = contentManifest;
+        this.preferences = preferences;
+        this.appExecutors = appExecutors;
+    }
+
+    /**
+     * Returns the process-wide repository instance
+     * @return singleton CourseRepository instance
+     */
+    public static CourseRepository getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Get all courses. The first call builds the catalog on the disk IO thread,
+     * later calls are answered synchronously from the in-memory cache.
+     * @param callback receives the unmodifiable course list
+     */
+    public void getCourses(@NonNull LoadCoursesCallback callback) {
+        List<Course> cached = cachedCourses;
+        if (cached != null) {
+            callback.onCoursesLoaded(cached);
+            return;
+        }
+
+        synchronized (pendingCallbacks) {
+            cached = cachedCourses;
+            if (cached == null) {
+                pendingCallbacks.add(callback);
+                if (loading) {
+                    return;
+                }
+                loading = true;
+            }
+        }
+
+        if (cached != null) {
+            callback.onCoursesLoaded(cached);
+            return;
+        }
+
+        appExecutors.diskIO().execute(this::buildCatalog);
+    }
+
+    /**
+     * Drop the in-memory catalog and rebuild it, syncing the manifest if its version changed.
+     * Used after a content update.
+     * @param callback receives the reloaded course list
+     */
+    public void reloadCatalog(@NonNull LoadCoursesCallback callback) {
+        synchronized (pendingCallbacks) {
+            cachedCourses = null;
+            pendingCallbacks.add(callback);
+            if (loading) {
+                // The running build may have read the old content; it rebuilds before publishing
+                reloadRequested = true;
+                return;
+            }
+            loading = true;
+        }
+        appExecutors.diskIO().execute(this::buildCatalog);
+    }
+
+    /**
+     * Register for catalogs published by reloadCatalog or applyProgress. Called on the disk IO thread.
+     * Holders of ids or Course objects from an older catalog should re-read them here.
+     */
+    public void addCatalogListener(@NonNull CatalogListener listener) {
+        catalogListeners.add(listener);
+    }
+
+    public void removeCatalogListener(@NonNull CatalogListener listener) {
+        catalogListeners.remove(listener);
+    }
+
+    /**
+     * Publish committed progress. Cached courses are read on several threads and never modified;
+     * the changed ones are copied into a new catalog, which is announced to the catalog listeners.
+     * Called on the disk IO thread.
+     * @param rows progress rows just committed
+     */
+    public void applyProgress(@NonNull List<ProgressEntity> rows) {
+        Map<Integer, ProgressEntity> progressByCourse = new HashMap<>();
+        for (ProgressEntity progress : rows) {
+            progressByCourse.put(progress.getCourseId(), progress);
+        }
+
+        List<Course> courses;
+        synchronized (pendingCallbacks) {
+            List<Course> cached = cachedCourses;
+            if (cached == null) {
+                // A running build may have read progress before this commit
+                reloadRequested |= loading;
+                return;
+            }
+
+            List<Course> updated = new ArrayList<>(cached.size());
+            Map<Integer, Course> byId = new HashMap<>(coursesById);
+            for (Course course : cached) {
+                ProgressEntity progress = progressByCourse.get(course.getId());
+                if (progress != null) {
+                    course = CourseEntity.fromCourse(course).toCourse();
+                    progress.applyTo(course);
+                    byId.put(course.getId(), course);
+                }
+                updated.add(course);
+            }
+            courses = Collections.unmodifiableList(updated);
+            coursesById = byId;
+            cachedCourses = courses;
+        }
+
+        for (CatalogListener listener : catalogListeners) {
+            listener.onCatalogChanged(courses);
+        }
+    }
+
+    /**
+     * Get courses of one category in the given order. The query runs in SQLite on the disk IO thread.
+     * @param category course category, or null for all categories
+     * @param sortOrder result order
+     * @param callback receives the matching cached courses
+     */
+    public void getCourses(@Nullable String category, @NonNull SortOrder sortOrder,
+                           @NonNull LoadCoursesCallback callback) {
+        getCourses(new LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                appExecutors.diskIO().execute(() -> {
+                    try {
+                        callback.onCoursesLoaded(resolveIds(queryIds(category, sortOrder)));
+                    } catch (RuntimeException e) {
+                        callback.onDataNotAvailable(e);
+                    }
+                });
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                callback.onDataNotAvailable(e);
+            }
+        });
+    }
+
+    /**
+     * Get the ordered lesson asset names of a course. Lessons are read per course
+     * so the catalog never keeps every lesson in memory.
+     * @param courseId course id
+     * @param callback receives the lesson sequence
+     */
+    public void getLessonSequence(int courseId, @NonNull LoadLessonsCallback callback) {
+        appExecutors.diskIO().execute(() -> {
+            try {
+                callback.onLessonsLoaded(database.lessonDao().getLessonSequence(courseId));
+            } catch (RuntimeException e) {
+                callback.onDataNotAvailable(e);
+            }
+        });
+    }
+
+    /**
+     * Get a cached course by id
+     * @param courseId course id
+     * @return course, or null if the catalog is not loaded or the id is unknown
+     */
+    @Nullable
+    public Course getCourseById(int courseId) {
+        return coursesById.get(courseId);
+    }
+
+    /**
+     * Check if the catalog is already in memory
+     * @return true if getCourses will answer without going to the disk IO thread
+     */
+    public boolean isCatalogLoaded() {
+        return cachedCourses != null;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void buildCatalog() {
+        List<Course> courses;
+        Exception error;
+        List<LoadCoursesCallback> callbacks;
+        boolean rebuild;
+        boolean replaced = false;
+        do {
+            courses = null;
+            error = null;
+            try {
+                syncCatalogIfChanged();
+                courses = Collections.unmodifiableList(loadCoursesFromDatabase());
+            } catch (IOException | RuntimeException e) {
+                error = e;
+            }
+
+            callbacks = null;
+            synchronized (pendingCallbacks) {
+                rebuild = reloadRequested;
+                reloadRequested = false;
+                if (!rebuild) {
+                    if (courses != null) {
+                        Map<Integer, Course> byId = new HashMap<>();
+                        for (Course course : courses) {
+                            byId.put(course.getId(), course);
+                        }
+                        coursesById = byId;
+                    }
+                    cachedCourses = courses;
+                    // The first catalog is announced through the callbacks only
+                    replaced = courses != null && catalogPublished;
+                    catalogPublished |= courses != null;
+                    loading = false;
+                    callbacks = new ArrayList<>(pendingCallbacks);
+                    pendingCallbacks.clear();
+                }
+            }
+        } while (rebuild);
+
+        for (LoadCoursesCallback callback : callbacks) {
+            if (courses != null) {
+                callback.onCoursesLoaded(courses);
+            } else {
+                callback.onDataNotAvailable(error);
+            }
+        }
+
+        if (replaced) {
+            for (CatalogListener listener : catalogListeners) {
+                listener.onCatalogChanged(courses);
+            }
+        }
+    }
+
+    /**
+     * Sync the manifest into the database when its version changed.
+     * An unchanged manifest is not parsed beyond its version field.
+     */
+    private void syncCatalogIfChanged() throws IOException {
+        int version = contentManifest.readVersion();
+        if (version == preferences.getInt(Constants.PREF_CONTENT_MANIFEST_VERSION, -1)
+                && database.courseDao().count() > 0) {
+            return;
+        }
+
+        List<Course> catalog = contentManifest.readCourseHeaders();
+        Map<Integer, List<LessonMetadata>> lessons = contentManifest.readAllLessons();
+        List<Achievement> achievements = contentManifest.readAchievements();
+        database.runInTransaction(() -> {
+            syncCatalog(catalog, lessons);
+            syncAchievements(achievements);
+        });
+        preferences.edit().putInt(Constants.PREF_CONTENT_MANIFEST_VERSION, version).apply();
+        // Rules are cached with their targets
+        AchievementEngine.getInstance().invalidate();
+    }
+
+    /**
+     * Write the manifest catalog into the database, dropping courses and lessons it no longer lists.
+     * Progress rows are left untouched.
+     */
+    private void syncCatalog(List<Course> catalog, Map<Integer, List<LessonMetadata>> lessonsByCourse) {
+        List<CourseEntity> entities = new ArrayList<>(catalog.size());
+        List<Integer> courseIds = new ArrayList<>(catalog.size());
+        for (Course course : catalog) {
+            entities.add(CourseEntity.fromCourse(course));
+            courseIds.add(course.getId());
+        }
+        database.lessonDao().deleteAllExceptCourses(courseIds);
+        database.courseDao().deleteAllExcept(courseIds);
+        database.courseDao().upsertAll(entities);
+
+        for (Course course : catalog) {
+            List<LessonMetadata> lessons = lessonsByCourse.get(course.getId());
+
+            database.lessonDao().deleteForCourse(course.getId());
+            if (lessons == null || lessons.isEmpty()) {
+                continue;
+            }
+
+            List<LessonEntity> lessonEntities = new ArrayList<>(lessons.size());
+            for (int i = 0; i < lessons.size(); i++) {
+                LessonMetadata lesson = lessons.get(i);
+                lessonEntities.add(new LessonEntity(course.getId(), i, lesson.getFile(), lesson.getTitle()));
+            }
+            database.lessonDao().insertAll(lessonEntities);
+        }
+    }
+
+    /**
+     * Add new achievement definitions and update changed ones. Existing rows keep their unlock state.
+     */
+    private void syncAchievements(List<Achievement> achievements) {
+        AchievementDao achievementDao = database.achievementDao();
+        List<AchievementEntity> entities = new ArrayList<>(achievements.size());
+        for (Achievement achievement : achievements) {
+            AchievementEntity entity = AchievementEntity.fromAchievement(achievement);
+            achievementDao.updateDefinition(entity.getId(), entity.getTitle(), entity.getDescription(),
+                    entity.getCategory(), entity.getIcon(), entity.getPoints(), entity.getRequirement(),
+                    entity.getTarget());
+            entities.add(entity);
+        }
+        // Rows that already exist were updated above and are skipped here
+        achievementDao.insertAll(entities);
+    }
+
+    /**
+     * Load course headers with their progress. Lesson lists are not loaded here.
+     */
+    private List<Course> loadCoursesFromDatabase() {
+        Map<Integer, ProgressEntity> progressByCourse = new HashMap<>();
+        for (ProgressEntity progress : database.progressDao().getAll()) {
+            progressByCourse.put(progress.getCourseId(), progress);
+        }
+
+        List<CourseEntity> entities = database.courseDao().getAll();
+        List<Course> courses = new ArrayList<>(entities.size());
+        for (CourseEntity entity : entities) {
+            Course course = entity.toCourse();
+            ProgressEntity progress = progressByCourse.get(entity.getId());
+            if (progress != null) {
+                progress.applyTo(course);
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    private List<Integer> queryIds(@Nullable String category, @NonNull SortOrder sortOrder) {
+        CourseDao courseDao = database.courseDao();
+        if (category == null) {
+            switch (sortOrder) {
+                case DIFFICULTY:
+                    return courseDao.getIdsOrderByDifficulty();
+                case ID:
+                    return courseDao.getIdsOrderById();
+                case TITLE:
+                default:
+                    return courseDao.getIdsOrderByTitle();
+            }
+        }
+
+        switch (sortOrder) {
+            case DIFFICULTY:
+                return courseDao.getIdsByCategoryOrderByDifficulty(category);
+            case ID:
+                return courseDao.getIdsByCategoryOrderById(category);
+            case TITLE:
+            default:
+                return courseDao.getIdsByCategoryOrderByTitle(category);
+        }
+    }
+
+    private List<Course> resolveIds(List<Integer> ids) {
+        Map<Integer, Course> byId = coursesById;
+        List<Course> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Course course = byId.get(id);
+            if (course != null) {
+                result.add(course);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final CourseRepository INSTANCE = new CourseRepository(
+                AppDatabase.getInstance(CodeLearnApplication.getInstance()),
+                // Read through the installed pack so imported content brings its catalog along
+                new ContentManifest(LessonAssetReader.getInstance()::open, Constants.CONTENT_MANIFEST_PATH),
+                CodeLearnApplication.getInstance().getSharedPreferences(Constants.PREF_NAME, Context.MODE_PRIVATE),
+                AppExecutors.getInstance());
+    }
+}
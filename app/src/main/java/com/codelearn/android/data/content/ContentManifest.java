@@ -0,0 +1,386 @@
+package com.codelearn.android.data.content;
+
+import android.util.JsonReader;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.model.Achievement;
+import com.codelearn.android.model.Course;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for the content manifest (content/manifest.json)
+ *
+ * The manifest is never loaded as a whole. Each read streams the file once and skips
+ * what the caller does not need, so startup only materializes course headers and
+ * per-lesson metadata is only read when the catalog is synced.
+ *
+ * Layout:
+ * <pre>
+ * { "version": 1,
+ *   "pack": { "file": "lessons.pack.gz", "size": 0, "sha256": "..." },
+ *   "courses": [ { "id": 1, "title": "...", "category": "HTML", ...,
+ *                  "lessons": [ { "file": "...", "title": "...", "size": 0, "sha256": "..." } ] } ],
+ *   "achievements": [ { "id": 1, "title": "...", "category": "PROGRESS", "points": 10, "target": 1, ... } ] }
+ * </pre>
+ * "version" should come first and "id" before "lessons" so readers can stop or skip early.
+ * "pack" is only present in the APK copy; the copy inside a content pack describes that pack's catalog.
+ */
+public class ContentManifest {
+
+    /**
+     * Where the manifest is read from, e.g. AssetManager::open or LessonAssetReader::open
+     */
+    public interface Source {
+        InputStream open(String path) throws IOException;
+    }
+
+    private final Source source;
+    private final String manifestPath;
+
+    public ContentManifest(@NonNull Source source, @NonNull String manifestPath) {
+        this.source = source;
+        this.manifestPath = manifestPath;
+    }
+
+    /**
+     * Read the manifest version. Stops at the version field.
+     * @return manifest version, or 0 if missing
+     */
+    @WorkerThread
+    public int readVersion() throws IOException {
+        try (JsonReader reader = open()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("version".equals(reader.nextName())) {
+                    return reader.nextInt();
+                }
+                reader.skipValue();
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Read the description of the bundled content pack. Stops at the pack field.
+     * @return pack metadata, or null if the build ships loose lesson assets
+     */
+    @WorkerThread
+    @Nullable
+    public PackMetadata readPackMetadata() throws IOException {
+        try (JsonReader reader = open()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("pack".equals(name)) {
+                    return readPack(reader);
+                } else if ("courses".equals(name)) {
+                    return null;
+                }
+                reader.skipValue();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Resolve a file named in the manifest to its asset path
+     * @param file path relative to the manifest folder
+     * @return asset path
+     */
+    @NonNull
+    public String resolve(@NonNull String file) {
+        int slash = manifestPath.lastIndexOf('/');
+        return slash >= 0 ? manifestPath.substring(0, slash + 1) + file : file;
+    }
+
+    /**
+     * Read all course headers. Lesson lists are skipped; only their size and first file are kept.
+     * @return courses in manifest order
+     */
+    @WorkerThread
+    public List<Course> readCourseHeaders() throws IOException {
+        List<Course> courses = new ArrayList<>();
+        try (JsonReader reader = open()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"courses".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    courses.add(readCourseHeader(reader));
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        return courses;
+    }
+
+    /**
+     * Read the lesson metadata of every course. Used when the catalog must be synced.
+     * @return lessons per course id
+     */
+    @WorkerThread
+    public Map<Integer, List<LessonMetadata>> readAllLessons() throws IOException {
+        Map<Integer, List<LessonMetadata>> result = new HashMap<>();
+        try (JsonReader reader = open()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"courses".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readCourseLessons(reader, result);
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        return result;
+    }
+
+    /**
+     * Read the achievement definitions. Courses are skipped without being parsed.
+     * @return achievements in manifest order, all locked
+     */
+    @WorkerThread
+    public List<Achievement> readAchievements() throws IOException {
+        List<Achievement> achievements = new ArrayList<>();
+        try (JsonReader reader = open()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"achievements".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    achievements.add(readAchievement(reader));
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        return achievements;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private JsonReader open() throws IOException {
+        return new JsonReader(new InputStreamReader(source.open(manifestPath), StandardCharsets.UTF_8));
+    }
+
+    private PackMetadata readPack(JsonReader reader) throws IOException {
+        String file = null;
+        long size = 0;
+        String sha256 = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "file":
+                    file = reader.nextString();
+                    break;
+                case "size":
+                    size = reader.nextLong();
+                    break;
+                case "sha256":
+                    sha256 = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return file != null && sha256 != null ? new PackMetadata(file, size, sha256) : null;
+    }
+
+    private Course readCourseHeader(JsonReader reader) throws IOException {
+        int id = 0;
+        String title = "";
+        String description = "";
+        String category = null;
+        int difficulty = 1;
+        int estimatedTime = 0;
+        String thumbnail = null;
+        int lessonCount = 0;
+        String firstLesson = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "title":
+                    title = reader.nextString();
+                    break;
+                case "description":
+                    description = reader.nextString();
+                    break;
+                case "category":
+                    category = reader.nextString();
+                    break;
+                case "difficulty":
+                    difficulty = reader.nextInt();
+                    break;
+                case "estimatedTime":
+                    estimatedTime = reader.nextInt();
+                    break;
+                case "thumbnail":
+                    thumbnail = reader.nextString();
+                    break;
+                case "lessons":
+                    // Count lessons and keep the first file name only
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (lessonCount == 0) {
+                            firstLesson = readLesson(reader).getFile();
+                        } else {
+                            reader.skipValue();
+                        }
+                        lessonCount++;
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        Course course = new Course(title, description, category, difficulty, estimatedTime, thumbnail);
+        course.setId(id);
+        course.setTotalLessons(lessonCount);
+        course.setFirstLessonAsset(firstLesson);
+        course.setHasOfflineContent(firstLesson != null);
+        return course;
+    }
+
+    /**
+     * Read one course object, parsing its lessons only if it is the wanted course
+     * @param wantedId course id to parse, or -1 for every course
+     */
+    private void readCourseLessons(JsonReader reader, Map<Integer, List<LessonMetadata>> result)
+            throws IOException {
+        int id = -1;
+        List<LessonMetadata> lessons = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("id".equals(name)) {
+                id = reader.nextInt();
+            } else if ("lessons".equals(name)) {
+                lessons = readLessonList(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (id >= 0) {
+            result.put(id, lessons != null ? lessons : Collections.emptyList());
+        }
+    }
+
+    private Achievement readAchievement(JsonReader reader) throws IOException {
+        Achievement achievement = new Achievement();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    achievement.setId(reader.nextInt());
+                    break;
+                case "title":
+                    achievement.setTitle(reader.nextString());
+                    break;
+                case "description":
+                    achievement.setDescription(reader.nextString());
+                    break;
+                case "category":
+                    achievement.setCategory(reader.nextString());
+                    break;
+                case "icon":
+                    achievement.setIcon(reader.nextString());
+                    break;
+                case "points":
+                    achievement.setPoints(reader.nextInt());
+                    break;
+                case "requirement":
+                    achievement.setRequirement(reader.nextString());
+                    break;
+                case "target":
+                    achievement.setTarget(reader.nextInt());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return achievement;
+    }
+
+    private List<LessonMetadata> readLessonList(JsonReader reader) throws IOException {
+        List<LessonMetadata> lessons = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            lessons.add(readLesson(reader));
+        }
+        reader.endArray();
+        return lessons;
+    }
+
+    private LessonMetadata readLesson(JsonReader reader) throws IOException {
+        String file = null;
+        String title = null;
+        long size = 0;
+        String sha256 = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "file":
+                    file = reader.nextString();
+                    break;
+                case "title":
+                    title = reader.nextString();
+                    break;
+                case "size":
+                    size = reader.nextLong();
+                    break;
+                case "sha256":
+                    sha256 = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return new LessonMetadata(file, title, size, sha256);
+    }
+}
@@ -0,0 +1,200 @@
+package com.codelearn.android.data.content;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only, memory-mapped content pack
+ *
+ * All lessons and shared files live in one file that is mapped once; lookups go through a
+ * hash map built from the header index and return ByteBuffer views of the mapping, so lesson
+ * bytes stay off the Java heap and are paged in by the kernel on first access.
+ *
+ * Layout, big-endian, written by the content pipeline (content.gradle):
+ * <pre>
+ * int magic "CLPK", int format version, int content version, int entry count
+ * entry count x { short path length, UTF-8 path, int offset, int length, byte[32] SHA-256 }
+ * entry data
+ * </pre>
+ * Paths are asset paths such as content/html/01_pengenalan.html.
+ */
+public class ContentPack {
+
+    public static final int MAGIC = 0x434C504B;
+    public static final int FORMAT_VERSION = 1;
+    static final int SHA256_LENGTH = 32;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_FIXED_SIZE = 2 + 4 + 4 + SHA256_LENGTH;
+
+    private final File file;
+    private final ByteBuffer mapping;
+    private final int contentVersion;
+    private final Map<String, Entry> entries;
+
+    private ContentPack(File file, ByteBuffer mapping, int contentVersion, Map<String, Entry> entries) {
+        this.file = file;
+        this.mapping = mapping;
+        this.contentVersion = contentVersion;
+        this.entries = entries;
+    }
+
+    /**
+     * Map a pack file and parse its index
+     * @param file uncompressed pack in app storage
+     * @return opened pack
+     * @throws IOException if the file cannot be mapped or is not a valid pack
+     */
+    @NonNull
+    public static ContentPack open(@NonNull File file) throws IOException {
+        MappedByteBuffer mapping;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (mapping.getInt() != MAGIC) {
+                throw new IOException("Not a content pack: " + file);
+            }
+            int formatVersion = mapping.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported content pack format " + formatVersion + ": " + file);
+            }
+            int contentVersion = mapping.getInt();
+            int count = mapping.getInt();
+
+            Map<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                byte[] path = new byte[mapping.getShort() & 0xFFFF];
+                mapping.get(path);
+                int offset = mapping.getInt();
+                int length = mapping.getInt();
+                byte[] sha256 = new byte[SHA256_LENGTH];
+                mapping.get(sha256);
+
+                if (offset < 0 || length < 0 || offset > mapping.capacity() - length) {
+                    throw new IOException("Content pack entry out of bounds: " + file);
+                }
+                entries.put(new String(path, StandardCharsets.UTF_8), new Entry(offset, length, sha256));
+            }
+            return new ContentPack(file, mapping, contentVersion, entries);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated content pack: " + file, e);
+        }
+    }
+
+    /**
+     * Get the bytes of one entry without copying them
+     * @param assetPath asset path, e.g. content/html/01_pengenalan.html
+     * @return read-only view positioned at 0, or null if the pack has no such entry
+     */
+    @Nullable
+    public ByteBuffer slice(@NonNull String assetPath) {
+        Entry entry = entries.get(assetPath);
+        if (entry == null) {
+            return null;
+        }
+        // duplicate() so concurrent readers never share position or limit
+        ByteBuffer view = mapping.duplicate();
+        view.limit(entry.offset + entry.length).position(entry.offset);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Check whether the pack holds an entry
+     * @param assetPath asset path
+     * @return true if slice() would return data
+     */
+    public boolean contains(@NonNull String assetPath) {
+        return entries.containsKey(assetPath);
+    }
+
+    /**
+     * Get the SHA-256 recorded for an entry
+     * @param assetPath asset path
+     * @return hex SHA-256, or null if the pack has no such entry
+     */
+    @Nullable
+    public String getSha256(@NonNull String assetPath) {
+        Entry entry = entries.get(assetPath);
+        return entry != null ? toHex(entry.sha256) : null;
+    }
+
+    /**
+     * Raw SHA-256 of an entry, for comparing packs. Callers must not modify the array.
+     */
+    @Nullable
+    byte[] sha256Of(@NonNull String assetPath) {
+        Entry entry = entries.get(assetPath);
+        return entry != null ? entry.sha256 : null;
+    }
+
+    /**
+     * All asset paths in the pack
+     */
+    @NonNull
+    public Set<String> getAssetPaths() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Manifest version the pack was built from
+     */
+    public int getContentVersion() {
+        return contentVersion;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * The same pack after its file was renamed; the mapping follows the file, so it is reused
+     * @param file new location of the pack file
+     * @return pack sharing this mapping and index
+     */
+    @NonNull
+    ContentPack movedTo(@NonNull File file) {
+        return new ContentPack(file, mapping, contentVersion, entries);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Location of one entry inside the mapping
+     */
+    private static class Entry {
+        final int offset;
+        final int length;
+        final byte[] sha256;
+
+        Entry(int offset, int length, byte[] sha256) {
+            this.offset = offset;
+            this.length = length;
+            this.sha256 = sha256;
+        }
+    }
+}
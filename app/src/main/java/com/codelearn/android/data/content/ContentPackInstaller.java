@@ -0,0 +1,157 @@
+package com.codelearn.android.data.content;
+
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Installs the bundled content pack into app storage and opens it
+ *
+ * The APK carries the pack gzip-compressed. On first launch, and after an app update that
+ * ships newer content, it is decompressed once into a file named after its hash;
+ * later launches only map the existing file. Packs imported by ContentUpdater live in the
+ * same folder; the one with the highest content version is used.
+ */
+public class ContentPackInstaller {
+
+    private static final String TAG = "ContentPackInstaller";
+    private static final String PACK_PREFIX = "lessons-";
+    private static final String PACK_SUFFIX = ".pack";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AssetManager assetManager;
+    private final ContentManifest manifest;
+    private final File packDir;
+
+    public ContentPackInstaller(@NonNull AssetManager assetManager, @NonNull ContentManifest manifest,
+                                @NonNull File packDir) {
+        this.assetManager = assetManager;
+        this.manifest = manifest;
+        this.packDir = packDir;
+    }
+
+    /**
+     * Open the newest installed pack, installing the bundled pack first if it is newer
+     * @return opened pack, or null if there is none and the build has no pack or it could not be installed
+     */
+    @WorkerThread
+    @Nullable
+    public ContentPack install() {
+        ContentPack current = openNewestInstalled();
+        try {
+            PackMetadata metadata = manifest.readPackMetadata();
+            // A pack imported by ContentUpdater wins over an older bundled pack
+            if (metadata != null && (current == null || current.getContentVersion() < manifest.readVersion())) {
+                File target = packFile(packDir, metadata.getSha256());
+                if (!target.isFile() || target.length() != metadata.getSize()) {
+                    copy(manifest.resolve(metadata.getFile()), metadata.getSha256(), target);
+                }
+                current = ContentPack.open(target);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Could not install content pack", e);
+        }
+
+        if (current != null) {
+            deleteStalePacks(current.getFile());
+        }
+        return current;
+    }
+
+    /**
+     * File name of an installed pack
+     * @param packDir installation folder
+     * @param sha256 hex SHA-256 of the uncompressed pack
+     */
+    static File packFile(File packDir, String sha256) {
+        return new File(packDir, PACK_PREFIX + sha256.substring(0, 16) + PACK_SUFFIX);
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void copy(String assetPath, String sha256, File target) throws IOException {
+        if (!packDir.isDirectory() && !packDir.mkdirs()) {
+            throw new IOException("Cannot create " + packDir);
+        }
+
+        // Written to a temporary file first so a killed process never leaves a partial pack behind
+        File temp = new File(packDir, target.getName() + ".tmp");
+        MessageDigest digest = newSha256();
+        try (InputStream in = new DigestInputStream(new GZIPInputStream(
+                assetManager.open(assetPath, AssetManager.ACCESS_STREAMING), BUFFER_SIZE), digest);
+             OutputStream out = new FileOutputStream(temp)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        if (!ContentPack.toHex(digest.digest()).equals(sha256)) {
+            temp.delete();
+            throw new IOException("Content pack hash mismatch: " + assetPath);
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot move content pack to " + target);
+        }
+    }
+
+    @Nullable
+    private ContentPack openNewestInstalled() {
+        File[] files = packDir.listFiles();
+        if (files == null) {
+            return null;
+        }
+
+        ContentPack newest = null;
+        for (File file : files) {
+            if (!file.getName().startsWith(PACK_PREFIX) || !file.getName().endsWith(PACK_SUFFIX)) {
+                continue;
+            }
+            try {
+                ContentPack pack = ContentPack.open(file);
+                if (newest == null || pack.getContentVersion() > newest.getContentVersion()) {
+                    newest = pack;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Dropping unreadable content pack " + file.getName(), e);
+                file.delete();
+            }
+        }
+        return newest;
+    }
+
+    private void deleteStalePacks(File current) {
+        File[] files = packDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.getName().startsWith(PACK_PREFIX) && !file.equals(current)) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.codelearn.android.data.content;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes a content pack in the layout read by ContentPack
+ * Entry data is only referenced until writeTo, so unchanged entries can be passed as slices
+ * of the installed pack and are copied straight from the mapping to the new file.
+ */
+class ContentPackWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int contentVersion;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    ContentPackWriter(int contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    /**
+     * Add or replace an entry
+     * @param assetPath asset path
+     * @param data entry bytes, read from position to limit; the buffer itself is left unchanged
+     * @param sha256 raw SHA-256 of the data
+     */
+    void put(@NonNull String assetPath, @NonNull ByteBuffer data, @NonNull byte[] sha256) {
+        entries.put(assetPath, new Entry(assetPath.getBytes(StandardCharsets.UTF_8), data.duplicate(), sha256));
+    }
+
+    /**
+     * Write the pack and flush it to disk
+     * @param file target file, overwritten
+     * @return hex SHA-256 of the written file
+     */
+    @NonNull
+    String writeTo(@NonNull File file) throws IOException {
+        long headerSize = ContentPack.HEADER_SIZE;
+        long dataSize = 0;
+        for (Entry entry : entries.values()) {
+            headerSize += ContentPack.ENTRY_FIXED_SIZE + entry.path.length;
+            dataSize += entry.data.remaining();
+        }
+        if (headerSize + dataSize > Integer.MAX_VALUE) {
+            throw new IOException("Content pack too large");
+        }
+
+        MessageDigest digest = ContentPackInstaller.newSha256();
+        FileOutputStream fileOut = new FileOutputStream(file);
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(
+                new BufferedOutputStream(fileOut, BUFFER_SIZE), digest))) {
+            out.writeInt(ContentPack.MAGIC);
+            out.writeInt(ContentPack.FORMAT_VERSION);
+            out.writeInt(contentVersion);
+            out.writeInt(entries.size());
+
+            int offset = (int) headerSize;
+            for (Entry entry : entries.values()) {
+                out.writeShort(entry.path.length);
+                out.write(entry.path);
+                out.writeInt(offset);
+                out.writeInt(entry.data.remaining());
+                out.write(entry.sha256);
+                offset += entry.data.remaining();
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (Entry entry : entries.values()) {
+                ByteBuffer data = entry.data.duplicate();
+                while (data.hasRemaining()) {
+                    int count = Math.min(buffer.length, data.remaining());
+                    data.get(buffer, 0, count);
+                    out.write(buffer, 0, count);
+                }
+            }
+            out.flush();
+            // The file replaces the installed pack, so it must be on disk before it is renamed
+            fileOut.getFD().sync();
+        }
+        return ContentPack.toHex(digest.digest());
+    }
+
+    /**
+     * One entry waiting to be written
+     */
+    private static class Entry {
+        final byte[] path;
+        final ByteBuffer data;
+        final byte[] sha256;
+
+        Entry(byte[] path, ByteBuffer data, byte[] sha256) {
+            this.path = path;
+            this.data = data;
+            this.sha256 = sha256;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.codelearn.android.data.content;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary delta between two content packs, written by buildContentPatch (content.gradle)
+ *
+ * Layout, big-endian:
+ * <pre>
+ * int magic "CLPT", int format version, int base content version, int target content version, int count
+ * count x { short path length, UTF-8 path, byte type, ... }
+ *   REMOVE: nothing more
+ *   PUT:    int length, byte[32] SHA-256, data
+ *   DELTA:  int target length, byte[32] target SHA-256, byte[32] base SHA-256, int delta length, delta
+ * delta: { byte 0 (COPY), int base offset, int length } or { byte 1 (INSERT), int length, bytes }
+ * </pre>
+ * Entries that are not listed are carried over from the base pack unchanged. A DELTA is only
+ * applied to a base entry with the expected hash, and every rebuilt entry is verified.
+ */
+class ContentPatch {
+
+    static final int MAGIC = 0x434C5054;
+    static final int FORMAT_VERSION = 1;
+
+    private static final byte OP_REMOVE = 0;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELTA = 2;
+    private static final byte DELTA_COPY = 0;
+    private static final byte DELTA_INSERT = 1;
+
+    private final int baseVersion;
+    private final int targetVersion;
+    private final List<Operation> operations;
+
+    private ContentPatch(int baseVersion, int targetVersion, List<Operation> operations) {
+        this.baseVersion = baseVersion;
+        this.targetVersion = targetVersion;
+        this.operations = operations;
+    }
+
+    /**
+     * Parse a patch. Payloads stay slices of the given buffer.
+     * @param patch patch bytes positioned at the magic
+     */
+    @NonNull
+    static ContentPatch parse(@NonNull ByteBuffer patch) throws IOException {
+        try {
+            if (patch.getInt() != MAGIC) {
+                throw new IOException("Not a content patch");
+            }
+            int formatVersion = patch.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported content patch format " + formatVersion);
+            }
+            int baseVersion = patch.getInt();
+            int targetVersion = patch.getInt();
+            int count = patch.getInt();
+
+            List<Operation> operations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] path = new byte[patch.getShort() & 0xFFFF];
+                patch.get(path);
+                Operation operation = new Operation(new String(path, StandardCharsets.UTF_8), patch.get());
+
+                if (operation.type == OP_PUT || operation.type == OP_DELTA) {
+                    operation.targetLength = patch.getInt();
+                    patch.get(operation.targetSha256);
+                    int payloadLength = operation.targetLength;
+                    if (operation.type == OP_DELTA) {
+                        operation.baseSha256 = new byte[ContentPack.SHA256_LENGTH];
+                        patch.get(operation.baseSha256);
+                        payloadLength = patch.getInt();
+                    }
+                    operation.payload = take(patch, payloadLength);
+                } else if (operation.type != OP_REMOVE) {
+                    throw new IOException("Unknown patch operation " + operation.type);
+                }
+                operations.add(operation);
+            }
+            return new ContentPatch(baseVersion, targetVersion, operations);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated content patch", e);
+        }
+    }
+
+    /**
+     * Rebuild the target pack from a base pack
+     * @param base installed pack; must be the version the patch was built against
+     * @return writer holding the target pack
+     * @throws IOException if the base does not match or a rebuilt entry fails verification
+     */
+    @NonNull
+    ContentPackWriter apply(@NonNull ContentPack base) throws IOException {
+        if (base.getContentVersion() != baseVersion) {
+            throw new IOException("Patch is for content version " + baseVersion
+                    + ", installed version is " + base.getContentVersion());
+        }
+
+        Map<String, Operation> byPath = new HashMap<>();
+        for (Operation operation : operations) {
+            byPath.put(operation.path, operation);
+        }
+
+        ContentPackWriter writer = new ContentPackWriter(targetVersion);
+        for (String assetPath : base.getAssetPaths()) {
+            if (!byPath.containsKey(assetPath)) {
+                writer.put(assetPath, base.slice(assetPath), base.sha256Of(assetPath));
+            }
+        }
+
+        for (Operation operation : operations) {
+            switch (operation.type) {
+                case OP_REMOVE:
+                    break;
+                case OP_PUT:
+                    verify(operation, operation.payload);
+                    writer.put(operation.path, operation.payload, operation.targetSha256);
+                    break;
+                case OP_DELTA:
+                    if (!Arrays.equals(operation.baseSha256, base.sha256Of(operation.path))) {
+                        throw new IOException("Patch does not match installed " + operation.path);
+                    }
+                    ByteBuffer data = applyDelta(base.slice(operation.path), operation.payload,
+                            operation.targetLength);
+                    verify(operation, data);
+                    writer.put(operation.path, data, operation.targetSha256);
+                    break;
+            }
+        }
+        return writer;
+    }
+
+    int getBaseVersion() {
+        return baseVersion;
+    }
+
+    int getTargetVersion() {
+        return targetVersion;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static ByteBuffer applyDelta(ByteBuffer base, ByteBuffer delta, int targetLength) throws IOException {
+        ByteBuffer instructions = delta.duplicate();
+        byte[] target = new byte[targetLength];
+        int position = 0;
+        try {
+            while (instructions.hasRemaining()) {
+                byte instruction = instructions.get();
+                if (instruction == DELTA_COPY) {
+                    int offset = instructions.getInt();
+                    int length = instructions.getInt();
+                    if (offset < 0 || length < 0 || offset > base.limit() - length) {
+                        throw new IOException("Delta copy out of bounds");
+                    }
+                    ByteBuffer source = base.duplicate();
+                    source.position(offset);
+                    source.get(target, position, length);
+                    position += length;
+                } else if (instruction == DELTA_INSERT) {
+                    int length = instructions.getInt();
+                    instructions.get(target, position, length);
+                    position += length;
+                } else {
+                    throw new IOException("Unknown delta instruction " + instruction);
+                }
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt delta", e);
+        }
+
+        if (position != targetLength) {
+            throw new IOException("Delta produced " + position + " of " + targetLength + " bytes");
+        }
+        return ByteBuffer.wrap(target);
+    }
+
+    private static void verify(Operation operation, ByteBuffer data) throws IOException {
+        MessageDigest digest = ContentPackInstaller.newSha256();
+        digest.update(data.duplicate());
+        if (!Arrays.equals(digest.digest(), operation.targetSha256)) {
+            throw new IOException("Hash mismatch after patching " + operation.path);
+        }
+    }
+
+    private static ByteBuffer take(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    /**
+     * One patch operation
+     */
+    private static class Operation {
+        final String path;
+        final byte type;
+        final byte[] targetSha256 = new byte[ContentPack.SHA256_LENGTH];
+        int targetLength;
+        byte[] baseSha256;
+        ByteBuffer payload;
+
+        Operation(String path, byte type) {
+            this.path = path;
+            this.type = type;
+        }
+    }
+}
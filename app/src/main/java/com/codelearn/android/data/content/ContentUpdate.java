@@ -0,0 +1,52 @@
+package com.codelearn.android.data.content;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Result of installing a new content pack
+ */
+public class ContentUpdate {
+
+    private final int fromVersion;
+    private final int toVersion;
+    private final Set<String> changedPaths;
+    private final Set<String> removedPaths;
+
+    public ContentUpdate(int fromVersion, int toVersion, @NonNull Set<String> changedPaths,
+                         @NonNull Set<String> removedPaths) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.changedPaths = Collections.unmodifiableSet(changedPaths);
+        this.removedPaths = Collections.unmodifiableSet(removedPaths);
+    }
+
+    /**
+     * Content version before the update, 0 if no pack was installed
+     */
+    public int getFromVersion() {
+        return fromVersion;
+    }
+
+    public int getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * Asset paths that were added or whose content changed
+     */
+    @NonNull
+    public Set<String> getChangedPaths() {
+        return changedPaths;
+    }
+
+    /**
+     * Asset paths that are no longer in the pack
+     */
+    @NonNull
+    public Set<String> getRemovedPaths() {
+        return removedPaths;
+    }
+}
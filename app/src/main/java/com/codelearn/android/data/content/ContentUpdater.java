@@ -0,0 +1,175 @@
+package com.codelearn.android.data.content;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Installs content updates from local files
+ *
+ * Accepts a full content pack or a delta patch against the installed pack, either of them
+ * optionally gzip-compressed. The new pack is written next to the installed one, verified,
+ * and swapped into LessonAssetReader; the result lists which lessons actually changed so
+ * callers only refresh those.
+ */
+public class ContentUpdater {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LessonAssetReader assetReader;
+    private final File packDir;
+
+    public ContentUpdater(@NonNull LessonAssetReader assetReader, @NonNull File packDir) {
+        this.assetReader = assetReader;
+        this.packDir = packDir;
+    }
+
+    /**
+     * Import a pack or patch file
+     * @param file local file, e.g. lessons.pack.gz or lessons-1-2.clpatch
+     * @return changes against the previously installed pack
+     * @throws IOException if the file is invalid, not newer than the installed content,
+     *                     or a patch does not match the installed pack
+     */
+    @WorkerThread
+    @NonNull
+    public synchronized ContentUpdate importFile(@NonNull File file) throws IOException {
+        ContentPack current = assetReader.getPack();
+        if (!packDir.isDirectory() && !packDir.mkdirs()) {
+            throw new IOException("Cannot create " + packDir);
+        }
+
+        File temp = new File(packDir, "import.tmp");
+        ContentPack next = null;
+        try {
+            String sha256;
+            try (InputStream in = openDecompressed(file)) {
+                in.mark(4);
+                int magic = readMagic(in);
+                in.reset();
+
+                if (magic == ContentPack.MAGIC) {
+                    sha256 = copy(in, temp);
+                } else if (magic == ContentPatch.MAGIC) {
+                    if (current == null) {
+                        throw new IOException("No installed content to patch");
+                    }
+                    ContentPatch patch = ContentPatch.parse(ByteBuffer.wrap(readAll(in)));
+                    checkNewer(current, patch.getTargetVersion());
+                    sha256 = patch.apply(current).writeTo(temp);
+                } else {
+                    throw new IOException("Not a content pack or patch: " + file.getName());
+                }
+            }
+
+            next = ContentPack.open(temp);
+            if (current != null) {
+                checkNewer(current, next.getContentVersion());
+            }
+
+            File target = ContentPackInstaller.packFile(packDir, sha256);
+            if (!temp.renameTo(target)) {
+                throw new IOException("Cannot move content pack to " + target);
+            }
+            next = next.movedTo(target);
+        } finally {
+            temp.delete();
+        }
+
+        ContentUpdate update = diff(current, next);
+        assetReader.replacePack(next);
+        if (current != null && !current.getFile().equals(next.getFile())) {
+            // Open slices of the old mapping stay valid after the file is unlinked
+            current.getFile().delete();
+        }
+        return update;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static InputStream openDecompressed(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        return gzip ? new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE) : in;
+    }
+
+    private static int readMagic(InputStream in) throws IOException {
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) {
+                return 0;
+            }
+            magic = (magic << 8) | b;
+        }
+        return magic;
+    }
+
+    private static String copy(InputStream in, File target) throws IOException {
+        MessageDigest digest = ContentPackInstaller.newSha256();
+        try (InputStream digestIn = new DigestInputStream(in, digest);
+             FileOutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = digestIn.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.getFD().sync();
+        }
+        return ContentPack.toHex(digest.digest());
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void checkNewer(ContentPack current, int version) throws IOException {
+        if (version <= current.getContentVersion()) {
+            throw new IOException("Content version " + version + " is not newer than installed version "
+                    + current.getContentVersion());
+        }
+    }
+
+    private static ContentUpdate diff(@Nullable ContentPack current, ContentPack next) {
+        Set<String> changed = new HashSet<>();
+        for (String assetPath : next.getAssetPaths()) {
+            if (current == null || !Arrays.equals(current.sha256Of(assetPath), next.sha256Of(assetPath))) {
+                changed.add(assetPath);
+            }
+        }
+
+        Set<String> removed = new HashSet<>();
+        if (current != null) {
+            for (String assetPath : current.getAssetPaths()) {
+                if (!next.contains(assetPath)) {
+                    removed.add(assetPath);
+                }
+            }
+        }
+        return new ContentUpdate(current != null ? current.getContentVersion() : 0,
+                next.getContentVersion(), changed, removed);
+    }
+}
@@ -0,0 +1,170 @@
+package com.codelearn.android.data.content;
+
+import android.content.res.AssetManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.utils.Constants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads packaged content assets
+ *
+ * Lessons are served from the memory-mapped content pack: a lookup is one hash map hit and
+ * returns a view of the mapping, without a zip lookup in the APK or a copy on the Java heap.
+ * Paths missing from the pack, e.g. the manifest before a pack is installed, fall back to the APK assets.
+ */
+public class LessonAssetReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final AssetManager assetManager;
+    private final ContentPackInstaller packInstaller;
+
+    private volatile ContentPack pack;
+    private volatile boolean packPrepared;
+
+    public LessonAssetReader(@NonNull AssetManager assetManager, @NonNull ContentPackInstaller packInstaller) {
+        this.assetManager = assetManager;
+        this.packInstaller = packInstaller;
+    }
+
+    /**
+     * Returns the process-wide reader instance
+     * @return singleton LessonAssetReader instance
+     */
+    public static LessonAssetReader getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Install and map the content pack. Called once at startup; the other methods call it
+     * lazily, so the first lesson read may block until the pack is installed.
+     */
+    @WorkerThread
+    public void preparePack() {
+        if (packPrepared) {
+            return;
+        }
+        synchronized (this) {
+            if (!packPrepared) {
+                pack = packInstaller.install();
+                packPrepared = true;
+            }
+        }
+    }
+
+    /**
+     * Get the installed content pack
+     * @return mapped pack, or null if assets are read from the APK
+     */
+    @WorkerThread
+    @Nullable
+    public ContentPack getPack() {
+        preparePack();
+        return pack;
+    }
+
+    /**
+     * Serve assets from another pack, e.g. after a content update. Readers holding
+     * slices of the previous pack can keep using them.
+     * @param newPack opened pack
+     */
+    public void replacePack(@NonNull ContentPack newPack) {
+        synchronized (this) {
+            pack = newPack;
+            packPrepared = true;
+        }
+    }
+
+    /**
+     * Get the bytes of an asset from the content pack without copying them
+     * @param assetPath plain asset path, e.g. content/html/01_pengenalan.html
+     * @return read-only view of the mapped pack, or null if the asset is not in the pack
+     */
+    @WorkerThread
+    @Nullable
+    public ByteBuffer slice(@NonNull String assetPath) {
+        preparePack();
+        ContentPack current = pack;
+        return current != null ? current.slice(assetPath) : null;
+    }
+
+    /**
+     * Get the bytes of an asset, from the pack if possible
+     * @param assetPath plain asset path
+     * @return bytes positioned at 0; callers must not modify them
+     */
+    @WorkerThread
+    @NonNull
+    public ByteBuffer read(@NonNull String assetPath) throws IOException {
+        ByteBuffer slice = slice(assetPath);
+        return slice != null ? slice : ByteBuffer.wrap(readFully(assetPath));
+    }
+
+    /**
+     * Open an asset as a stream
+     * @param assetPath plain asset path, e.g. content/html/01_pengenalan.html
+     * @return stream the caller must close
+     */
+    @WorkerThread
+    @NonNull
+    public InputStream open(@NonNull String assetPath) throws IOException {
+        ByteBuffer slice = slice(assetPath);
+        if (slice != null) {
+            return new ByteBufferInputStream(slice);
+        }
+        return assetManager.open(assetPath, AssetManager.ACCESS_STREAMING);
+    }
+
+    /**
+     * Read an asset fully into memory
+     * @param assetPath plain asset path
+     * @return asset bytes
+     */
+    @WorkerThread
+    @NonNull
+    public byte[] readFully(@NonNull String assetPath) throws IOException {
+        ByteBuffer slice = slice(assetPath);
+        if (slice != null) {
+            byte[] bytes = new byte[slice.remaining()];
+            slice.get(bytes);
+            return bytes;
+        }
+
+        try (InputStream inputStream = open(assetPath)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final LessonAssetReader INSTANCE = createInstance();
+
+        private static LessonAssetReader createInstance() {
+            CodeLearnApplication application = CodeLearnApplication.getInstance();
+            AssetManager assets = application.getAssets();
+            // Installed content is rebuilt from the APK, so it is kept out of backups
+            ContentPackInstaller installer = new ContentPackInstaller(assets,
+                    new ContentManifest(assets::open, Constants.CONTENT_MANIFEST_PATH),
+                    new File(application.getNoBackupFilesDir(), Constants.CONTENT_PACK_DIR));
+            return new LessonAssetReader(assets, installer);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.codelearn.android.data.content;
+
+/**
+ * Metadata of one lesson asset as listed in the content manifest
+ */
+public class LessonMetadata {
+
+    private final String file;
+    private final String title;
+    private final long size;
+    private final String sha256;
+
+    public LessonMetadata(String file, String title, long size, String sha256) {
+        this.file = file;
+        this.title = title;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * Lesson file name, relative to the course category folder
+     */
+    public String getFile() {
+        return file;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Asset size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Hex SHA-256 of the asset bytes
+     */
+    public String getSha256() {
+        return sha256;
+    }
+}
@@ -0,0 +1,85 @@
+package com.codelearn.android.data.content;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.codelearn.android.utils.AppExecutors;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pages neighbouring lessons of the memory-mapped content pack into memory ahead of time
+ * Nothing is copied onto the heap; the page cache keeps the bytes and the OS reclaims them under
+ * pressure. Prefetches run on the disk IO executor; concurrent prefetches of the same path share one read.
+ */
+public class LessonPrefetcher {
+
+    private static final String TAG = "LessonPrefetcher";
+
+    private final LessonAssetReader assetReader;
+    private final AppExecutors appExecutors;
+
+    // Paths currently being paged in
+    private final Set<String> inFlight = new HashSet<>();
+
+    private LessonPrefetcher(LessonAssetReader assetReader, AppExecutors appExecutors) {
+        this.assetReader = assetReader;
+        this.appExecutors = appExecutors;
+    }
+
+    /**
+     * Returns the process-wide prefetcher instance
+     * @return singleton LessonPrefetcher instance
+     */
+    public static LessonPrefetcher getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Page a lesson in the background if no prefetch for it is running
+     * @param assetPath full asset path
+     */
+    public void prefetch(@Nullable String assetPath) {
+        if (assetPath == null) {
+            return;
+        }
+
+        synchronized (inFlight) {
+            if (!inFlight.add(assetPath)) {
+                return;
+            }
+        }
+        appExecutors.diskIO().execute(() -> pageIn(assetPath));
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void pageIn(@NonNull String assetPath) {
+        try {
+            ByteBuffer slice = assetReader.slice(assetPath);
+            if (slice instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) slice).load();
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Could not prefetch " + assetPath, e);
+        } finally {
+            synchronized (inFlight) {
+                inFlight.remove(assetPath);
+            }
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final LessonPrefetcher INSTANCE = new LessonPrefetcher(
+                LessonAssetReader.getInstance(),
+                AppExecutors.getInstance());
+    }
+}
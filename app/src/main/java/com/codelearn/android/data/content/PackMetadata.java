@@ -0,0 +1,38 @@
+package com.codelearn.android.data.content;
+
+/**
+ * Metadata of the bundled content pack as listed in the content manifest
+ */
+public class PackMetadata {
+
+    private final String file;
+    private final long size;
+    private final String sha256;
+
+    public PackMetadata(String file, long size, String sha256) {
+        this.file = file;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * Gzip-compressed pack asset, relative to the manifest folder
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Uncompressed pack size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Hex SHA-256 of the uncompressed pack
+     */
+    public String getSha256() {
+        return sha256;
+    }
+}
@@ -0,0 +1,38 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * Data access for achievements
+ */
+@Dao
+public interface AchievementDao {
+
+    /**
+     * Insert achievement definitions, keeping the unlock state of existing rows
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertAll(List<AchievementEntity> achievements);
+
+    /**
+     * Overwrite the definition of an existing achievement; unlocked and unlockedAt are kept
+     */
+    @Query("UPDATE achievements SET title = :title, description = :description, category = :category, "
+            + "icon = :icon, points = :points, requirement = :requirement, target = :target WHERE id = :id")
+    int updateDefinition(int id, String title, String description, String category, String icon,
+                         int points, String requirement, int target);
+
+    @Query("SELECT * FROM achievements ORDER BY id")
+    List<AchievementEntity> getAll();
+
+    @Query("UPDATE achievements SET unlocked = 1, unlockedAt = :unlockedAt WHERE id = :achievementId AND unlocked = 0")
+    int unlock(int achievementId, long unlockedAt);
+
+    @Query("UPDATE achievements SET unlocked = 0, unlockedAt = 0")
+    void resetAll();
+}
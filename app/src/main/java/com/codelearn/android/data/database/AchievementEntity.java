@@ -0,0 +1,144 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.codelearn.android.model.Achievement;
+
+/**
+ * Room row for an achievement and its unlock state
+ */
+@Entity(tableName = "achievements")
+public class AchievementEntity {
+
+    @PrimaryKey
+    private int id;
+
+    private String title;
+    private String description;
+    private String category; // "PROGRESS", "STREAK", "COURSE", "MILESTONE"
+    private String icon;
+    private int points;
+    private String requirement;
+    @ColumnInfo(defaultValue = "0")
+    private int target;
+    private boolean unlocked;
+    private long unlockedAt;
+
+    public AchievementEntity() {
+    }
+
+    /**
+     * Create a row from an achievement model
+     * @param achievement achievement to copy
+     * @return achievement entity
+     */
+    public static AchievementEntity fromAchievement(Achievement achievement) {
+        AchievementEntity entity = new AchievementEntity();
+        entity.id = achievement.getId();
+        entity.title = achievement.getTitle();
+        entity.description = achievement.getDescription();
+        entity.category = achievement.getCategory();
+        entity.icon = achievement.getIcon();
+        entity.points = achievement.getPoints();
+        entity.requirement = achievement.getRequirement();
+        entity.target = achievement.getTarget();
+        entity.unlocked = achievement.isUnlocked();
+        entity.unlockedAt = achievement.getUnlockedAt();
+        return entity;
+    }
+
+    /**
+     * Convert to an achievement model
+     * @return achievement model
+     */
+    public Achievement toAchievement() {
+        Achievement achievement = new Achievement(id, title, description, category, icon, points, requirement);
+        achievement.setTarget(target);
+        achievement.setUnlockedAt(unlockedAt);
+        achievement.setUnlocked(unlocked);
+        return achievement;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    public void setIcon(String icon) {
+        this.icon = icon;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+    }
+
+    public String getRequirement() {
+        return requirement;
+    }
+
+    public void setRequirement(String requirement) {
+        this.requirement = requirement;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public void setTarget(int target) {
+        this.target = target;
+    }
+
+    public boolean isUnlocked() {
+        return unlocked;
+    }
+
+    public void setUnlocked(boolean unlocked) {
+        this.unlocked = unlocked;
+    }
+
+    public long getUnlockedAt() {
+        return unlockedAt;
+    }
+
+    public void setUnlockedAt(long unlockedAt) {
+        this.unlockedAt = unlockedAt;
+    }
+}
@@ -0,0 +1,68 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Learning activity of one day over all courses
+ */
+@Entity(tableName = "activity_days")
+public class ActivityDayEntity {
+
+    @PrimaryKey
+    private long epochDay; // days since 1970-01-01 in the device time zone
+
+    private int lessonsCompleted;
+    private int experiencePoints;
+    private long millisSpent;
+
+    public ActivityDayEntity() {
+    }
+
+    public ActivityDayEntity(long epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Add the counters of another entry for the same day
+     * @param other entry to add
+     */
+    public void add(ActivityDayEntity other) {
+        lessonsCompleted += other.lessonsCompleted;
+        experiencePoints += other.experiencePoints;
+        millisSpent += other.millisSpent;
+    }
+
+    // Getters and Setters
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(long epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    public int getLessonsCompleted() {
+        return lessonsCompleted;
+    }
+
+    public void setLessonsCompleted(int lessonsCompleted) {
+        this.lessonsCompleted = lessonsCompleted;
+    }
+
+    public int getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public void setExperiencePoints(int experiencePoints) {
+        this.experiencePoints = experiencePoints;
+    }
+
+    public long getMillisSpent() {
+        return millisSpent;
+    }
+
+    public void setMillisSpent(long millisSpent) {
+        this.millisSpent = millisSpent;
+    }
+}
@@ -0,0 +1,168 @@
+package com.codelearn.android.data.database;
+
+import android.content.Context;
+
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.codelearn.android.utils.Constants;
+
+/**
+ * Room database for the offline catalog, learning progress and achievements
+ */
+@Database(entities = {
+        CourseEntity.class,
+        LessonEntity.class,
+        ProgressEntity.class,
+        AchievementEntity.class,
+        LessonIndexStateEntity.class,
+        LessonFtsEntity.class,
+        ReadingDayEntity.class,
+        LearningStatsEntity.class,
+        ActivityDayEntity.class
+}, version = Constants.DATABASE_VERSION, exportSchema = false)
+public abstract class AppDatabase extends RoomDatabase {
+
+    private static volatile AppDatabase instance;
+
+    /**
+     * Version 2 adds the lesson full-text index
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `lesson_index_state` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`assetPath` TEXT NOT NULL, "
+                    + "`courseId` INTEGER NOT NULL, "
+                    + "`lessonAsset` TEXT, "
+                    + "`title` TEXT, "
+                    + "`contentHash` TEXT, "
+                    + "`sectionCount` INTEGER NOT NULL, "
+                    + "`indexedAt` INTEGER NOT NULL)");
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_lesson_index_state_assetPath` "
+                    + "ON `lesson_index_state` (`assetPath`)");
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `lesson_fts` "
+                    + "USING FTS4(`heading` TEXT, `body` TEXT, `code` TEXT, tokenize=unicode61)");
+        }
+    };
+
+    /**
+     * Version 3 adds the write-behind bookkeeping of the progress table
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `progress` ADD COLUMN `totalMillisSpent` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE `progress` SET `totalMillisSpent` = `totalMinutesSpent` * 60000");
+            database.execSQL("ALTER TABLE `progress` ADD COLUMN `journalSeq` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * Version 4 adds per-day reading statistics
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `reading_days` ("
+                    + "`epochDay` INTEGER NOT NULL, "
+                    + "`courseId` INTEGER NOT NULL, "
+                    + "`lessonAsset` TEXT NOT NULL, "
+                    + "`millisSpent` INTEGER NOT NULL, "
+                    + "`maxScrollDepth` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`epochDay`, `courseId`, `lessonAsset`))");
+        }
+    };
+
+    /**
+     * Version 5 adds the materialized learning totals, seeded from the existing progress
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `learning_stats` ("
+                    + "`id` INTEGER NOT NULL, "
+                    + "`activeCourses` INTEGER NOT NULL, "
+                    + "`completedLessons` INTEGER NOT NULL, "
+                    + "`experiencePoints` INTEGER NOT NULL, "
+                    + "`totalMillisSpent` INTEGER NOT NULL, "
+                    + "`currentStreak` INTEGER NOT NULL, "
+                    + "`longestStreak` INTEGER NOT NULL, "
+                    + "`lastActiveDay` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `activity_days` ("
+                    + "`epochDay` INTEGER NOT NULL, "
+                    + "`lessonsCompleted` INTEGER NOT NULL, "
+                    + "`experiencePoints` INTEGER NOT NULL, "
+                    + "`millisSpent` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`epochDay`))");
+            database.execSQL("INSERT INTO `learning_stats` SELECT " + LearningStatsEntity.ROW_ID + ", COUNT(*), "
+                    + "IFNULL(SUM(`completedLessons`), 0), IFNULL(SUM(`experiencePoints`), 0), "
+                    + "IFNULL(SUM(`totalMillisSpent`), 0), 0, 0, " + LearningStatsEntity.NO_DAY + " FROM `progress`");
+            database.execSQL("INSERT INTO `activity_days` SELECT `epochDay`, 0, 0, SUM(`millisSpent`) "
+                    + "FROM `reading_days` GROUP BY `epochDay`");
+        }
+    };
+
+    /**
+     * Version 6 adds achievement targets and the completed course count
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `achievements` ADD COLUMN `target` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE `learning_stats` ADD COLUMN `completedCourses` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE `learning_stats` SET `completedCourses` = (SELECT COUNT(*) FROM `progress` "
+                    + "JOIN `courses` ON `courses`.`id` = `progress`.`courseId` "
+                    + "WHERE `courses`.`totalLessons` > 0 AND `progress`.`completedLessons` >= `courses`.`totalLessons`)");
+        }
+    };
+
+    /**
+     * Version 7 drops the achievement category index; achievements are only read as a whole
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("DROP INDEX IF EXISTS `index_achievements_category`");
+        }
+    };
+
+    public abstract CourseDao courseDao();
+
+    public abstract LessonDao lessonDao();
+
+    public abstract ProgressDao progressDao();
+
+    public abstract AchievementDao achievementDao();
+
+    public abstract LessonSearchDao lessonSearchDao();
+
+    public abstract ReadingDayDao readingDayDao();
+
+    public abstract LearningStatsDao learningStatsDao();
+
+    /**
+     * Returns the process-wide database instance
+     * @param context any context, the application context is used
+     * @return singleton AppDatabase instance
+     */
+    public static AppDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AppDatabase.class) {
+                if (instance == null) {
+                    instance = Room.databaseBuilder(context.getApplicationContext(),
+                            AppDatabase.class, Constants.DATABASE_NAME)
+                            .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6,
+                                    MIGRATION_6_7)
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,59 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import java.util.List;
+
+/**
+ * Data access for the course catalog
+ * Filter and sort queries return ids only so callers can map them to cached course objects
+ */
+@Dao
+public interface CourseDao {
+
+    @Upsert
+    void upsertAll(List<CourseEntity> courses);
+
+    /**
+     * Remove courses that are no longer in the manifest; their lessons cascade
+     */
+    @Query("DELETE FROM courses WHERE id NOT IN (:courseIds)")
+    void deleteAllExcept(List<Integer> courseIds);
+
+    @Query("SELECT * FROM courses ORDER BY id")
+    List<CourseEntity> getAll();
+
+    @Query("SELECT * FROM courses WHERE id = :courseId")
+    CourseEntity getById(int courseId);
+
+    @Query("SELECT COUNT(*) FROM courses")
+    int count();
+
+    // ==================== FILTER AND SORT ====================
+
+    @Query("SELECT id FROM courses ORDER BY title")
+    List<Integer> getIdsOrderByTitle();
+
+    @Query("SELECT id FROM courses ORDER BY difficulty, id")
+    List<Integer> getIdsOrderByDifficulty();
+
+    @Query("SELECT id FROM courses ORDER BY id")
+    List<Integer> getIdsOrderById();
+
+    @Query("SELECT id FROM courses WHERE category = :category ORDER BY title")
+    List<Integer> getIdsByCategoryOrderByTitle(String category);
+
+    @Query("SELECT id FROM courses WHERE category = :category ORDER BY difficulty, id")
+    List<Integer> getIdsByCategoryOrderByDifficulty(String category);
+
+    @Query("SELECT id FROM courses WHERE category = :category ORDER BY id")
+    List<Integer> getIdsByCategoryOrderById(String category);
+
+    /**
+     * Most recently accessed courses, served by the progress.lastAccessDate index
+     */
+    @Query("SELECT courseId FROM progress WHERE lastAccessDate > 0 ORDER BY lastAccessDate DESC LIMIT :limit")
+    List<Integer> getRecentIds(int limit);
+}
@@ -0,0 +1,198 @@
+package com.codelearn.android.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.codelearn.android.model.Course;
+
+/**
+ * Room row for a course header
+ * Lessons and progress live in their own tables so listing courses never loads them
+ */
+@Entity(tableName = "courses",
+        indices = {
+                @Index("category"),
+                @Index("difficulty")
+        })
+public class CourseEntity {
+
+    @PrimaryKey
+    private int id;
+
+    @NonNull
+    private String title = "";
+    private String description;
+    @NonNull
+    private String category = ""; // "HTML", "CSS", "JavaScript"
+    private int difficulty; // 1-5 scale
+    private int estimatedTime; // in minutes
+    private String thumbnail;
+    private boolean active;
+    private String firstLessonAsset;
+    private boolean offlineContent;
+    private int totalLessons;
+    private String prerequisiteCourse;
+    private long createdAt;
+    private long updatedAt;
+
+    public CourseEntity() {
+    }
+
+    /**
+     * Create a row from a course model
+     * @param course course to copy
+     * @return entity with the course header fields
+     */
+    public static CourseEntity fromCourse(Course course) {
+        CourseEntity entity = new CourseEntity();
+        entity.id = course.getId();
+        entity.title = course.getTitle() != null ? course.getTitle() : "";
+        entity.description = course.getDescription();
+        entity.category = course.getCategory() != null ? course.getCategory() : "";
+        entity.difficulty = course.getDifficulty();
+        entity.estimatedTime = course.getEstimatedTime();
+        entity.thumbnail = course.getThumbnail();
+        entity.active = course.isActive();
+        entity.firstLessonAsset = course.getFirstLessonAsset();
+        entity.offlineContent = course.hasOfflineContent();
+        entity.totalLessons = course.getTotalLessons();
+        entity.prerequisiteCourse = course.getPrerequisiteCourse();
+        entity.createdAt = course.getCreatedAt();
+        entity.updatedAt = course.getUpdatedAt();
+        return entity;
+    }
+
+    /**
+     * Convert to a course model without lessons or progress
+     * @return course model
+     */
+    public Course toCourse() {
+        Course course = new Course(title, description, category, difficulty, estimatedTime, thumbnail);
+        course.setId(id);
+        course.setActive(active);
+        course.setFirstLessonAsset(firstLessonAsset);
+        course.setHasOfflineContent(offlineContent);
+        course.setTotalLessons(totalLessons);
+        course.setPrerequisiteCourse(prerequisiteCourse);
+        course.setCreatedAt(createdAt);
+        course.setUpdatedAt(updatedAt);
+        return course;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @NonNull
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(@NonNull String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @NonNull
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(@NonNull String category) {
+        this.category = category;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(int difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public int getEstimatedTime() {
+        return estimatedTime;
+    }
+
+    public void setEstimatedTime(int estimatedTime) {
+        this.estimatedTime = estimatedTime;
+    }
+
+    public String getThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(String thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getFirstLessonAsset() {
+        return firstLessonAsset;
+    }
+
+    public void setFirstLessonAsset(String firstLessonAsset) {
+        this.firstLessonAsset = firstLessonAsset;
+    }
+
+    public boolean isOfflineContent() {
+        return offlineContent;
+    }
+
+    public void setOfflineContent(boolean offlineContent) {
+        this.offlineContent = offlineContent;
+    }
+
+    public int getTotalLessons() {
+        return totalLessons;
+    }
+
+    public void setTotalLessons(int totalLessons) {
+        this.totalLessons = totalLessons;
+    }
+
+    public String getPrerequisiteCourse() {
+        return prerequisiteCourse;
+    }
+
+    public void setPrerequisiteCourse(String prerequisiteCourse) {
+        this.prerequisiteCourse = prerequisiteCourse;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
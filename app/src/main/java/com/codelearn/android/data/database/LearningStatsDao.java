@@ -0,0 +1,35 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import java.util.List;
+
+/**
+ * Data access for the materialized learning totals and daily activity
+ */
+@Dao
+public interface LearningStatsDao {
+
+    @Query("SELECT * FROM learning_stats WHERE id = " + LearningStatsEntity.ROW_ID)
+    LearningStatsEntity getStats();
+
+    @Upsert
+    void upsertStats(LearningStatsEntity stats);
+
+    @Query("SELECT * FROM activity_days WHERE epochDay = :epochDay")
+    ActivityDayEntity getDay(long epochDay);
+
+    @Query("SELECT * FROM activity_days WHERE epochDay >= :fromDay ORDER BY epochDay")
+    List<ActivityDayEntity> getDaysSince(long fromDay);
+
+    @Upsert
+    void upsertDays(List<ActivityDayEntity> days);
+
+    @Query("DELETE FROM learning_stats")
+    void deleteStats();
+
+    @Query("DELETE FROM activity_days")
+    void deleteDays();
+}
@@ -0,0 +1,106 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Materialized learning totals over all courses
+ * The table holds a single row that is updated with every progress flush, so reading the
+ * totals never scans the progress history.
+ */
+@Entity(tableName = "learning_stats")
+public class LearningStatsEntity {
+
+    public static final int ROW_ID = 0;
+    public static final long NO_DAY = -1;
+
+    @PrimaryKey
+    private int id = ROW_ID;
+
+    private int activeCourses;
+    @ColumnInfo(defaultValue = "0")
+    private int completedCourses;
+    private int completedLessons;
+    private int experiencePoints;
+    private long totalMillisSpent;
+    private int currentStreak;
+    private int longestStreak;
+    private long lastActiveDay = NO_DAY; // epoch day
+
+    public LearningStatsEntity() {
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getActiveCourses() {
+        return activeCourses;
+    }
+
+    public void setActiveCourses(int activeCourses) {
+        this.activeCourses = activeCourses;
+    }
+
+    public int getCompletedCourses() {
+        return completedCourses;
+    }
+
+    public void setCompletedCourses(int completedCourses) {
+        this.completedCourses = completedCourses;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(int completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public int getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public void setExperiencePoints(int experiencePoints) {
+        this.experiencePoints = experiencePoints;
+    }
+
+    public long getTotalMillisSpent() {
+        return totalMillisSpent;
+    }
+
+    public void setTotalMillisSpent(long totalMillisSpent) {
+        this.totalMillisSpent = totalMillisSpent;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public long getLastActiveDay() {
+        return lastActiveDay;
+    }
+
+    public void setLastActiveDay(long lastActiveDay) {
+        this.lastActiveDay = lastActiveDay;
+    }
+}
@@ -0,0 +1,28 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * Data access for lessons
+ * Lessons are always read per course so the full lesson table never has to be in memory
+ */
+@Dao
+public interface LessonDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<LessonEntity> lessons);
+
+    @Query("DELETE FROM lessons WHERE courseId = :courseId")
+    void deleteForCourse(int courseId);
+
+    @Query("DELETE FROM lessons WHERE courseId NOT IN (:courseIds)")
+    void deleteAllExceptCourses(List<Integer> courseIds);
+
+    @Query("SELECT assetName FROM lessons WHERE courseId = :courseId ORDER BY position")
+    List<String> getLessonSequence(int courseId);
+}
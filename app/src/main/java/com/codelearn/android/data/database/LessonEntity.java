@@ -0,0 +1,72 @@
+package com.codelearn.android.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Room row for a single lesson asset of a course
+ * Ordered by position inside the course lesson sequence
+ */
+@Entity(tableName = "lessons",
+        primaryKeys = {"courseId", "position"},
+        foreignKeys = @ForeignKey(entity = CourseEntity.class,
+                parentColumns = "id",
+                childColumns = "courseId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {
+                @Index(value = {"courseId", "assetName"}, unique = true)
+        })
+public class LessonEntity {
+
+    private int courseId;
+    private int position; // 0-based index in the lesson sequence
+    @NonNull
+    private String assetName = ""; // file name inside content/<category>/
+    private String title;
+
+    public LessonEntity() {
+    }
+
+    public LessonEntity(int courseId, int position, @NonNull String assetName, String title) {
+        this.courseId = courseId;
+        this.position = position;
+        this.assetName = assetName;
+        this.title = title;
+    }
+
+    // Getters and Setters
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @NonNull
+    public String getAssetName() {
+        return assetName;
+    }
+
+    public void setAssetName(@NonNull String assetName) {
+        this.assetName = assetName;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
@@ -0,0 +1,83 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+/**
+ * FTS4 row for one section of a lesson
+ * A section starts at an h1 or h2 heading. The rowid encodes the owning index state row
+ * and the section number, so a lesson's rows can be replaced with one rowid range delete.
+ */
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "lesson_fts")
+public class LessonFtsEntity {
+
+    /**
+     * Upper bound of sections per lesson used by the rowid encoding
+     */
+    public static final int MAX_SECTIONS = 1000;
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private long rowId;
+
+    private String heading;
+    private String body; // visible prose text
+    private String code; // text of code examples
+
+    public LessonFtsEntity() {
+    }
+
+    public LessonFtsEntity(long stateId, int sectionIndex, String heading, String body, String code) {
+        this.rowId = rowIdFor(stateId, sectionIndex);
+        this.heading = heading;
+        this.body = body;
+        this.code = code;
+    }
+
+    /**
+     * Rowid of a lesson section
+     * @param stateId id of the lesson index state row
+     * @param sectionIndex section number inside the lesson
+     * @return FTS rowid
+     */
+    public static long rowIdFor(long stateId, int sectionIndex) {
+        return stateId * MAX_SECTIONS + sectionIndex;
+    }
+
+    // Getters and Setters
+    public long getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(long rowId) {
+        this.rowId = rowId;
+    }
+
+    public String getHeading() {
+        return heading;
+    }
+
+    public void setHeading(String heading) {
+        this.heading = heading;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+}
@@ -0,0 +1,98 @@
+package com.codelearn.android.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tracks which version of a lesson asset is in the full-text index
+ * A lesson is re-indexed only when the hash of its asset changes.
+ */
+@Entity(tableName = "lesson_index_state",
+        indices = {
+                @Index(value = "assetPath", unique = true)
+        })
+public class LessonIndexStateEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    @NonNull
+    private String assetPath = ""; // e.g. content/html/01_pengenalan.html
+    private int courseId;
+    private String lessonAsset; // file name inside the course folder
+    private String title;
+    private String contentHash;
+    private int sectionCount;
+    private long indexedAt;
+
+    public LessonIndexStateEntity() {
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    @NonNull
+    public String getAssetPath() {
+        return assetPath;
+    }
+
+    public void setAssetPath(@NonNull String assetPath) {
+        this.assetPath = assetPath;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getLessonAsset() {
+        return lessonAsset;
+    }
+
+    public void setLessonAsset(String lessonAsset) {
+        this.lessonAsset = lessonAsset;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public int getSectionCount() {
+        return sectionCount;
+    }
+
+    public void setSectionCount(int sectionCount) {
+        this.sectionCount = sectionCount;
+    }
+
+    public long getIndexedAt() {
+        return indexedAt;
+    }
+
+    public void setIndexedAt(long indexedAt) {
+        this.indexedAt = indexedAt;
+    }
+}
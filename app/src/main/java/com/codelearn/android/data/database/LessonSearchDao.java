@@ -0,0 +1,57 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import java.util.List;
+
+/**
+ * Data access for the lesson full-text index
+ */
+@Dao
+public interface LessonSearchDao {
+
+    // ==================== INDEX STATE ====================
+
+    @Query("SELECT * FROM lesson_index_state")
+    List<LessonIndexStateEntity> getAllStates();
+
+    @Query("SELECT * FROM lesson_index_state WHERE assetPath = :assetPath")
+    LessonIndexStateEntity getState(String assetPath);
+
+    @Insert
+    long insertState(LessonIndexStateEntity state);
+
+    @Update
+    void updateState(LessonIndexStateEntity state);
+
+    @Query("DELETE FROM lesson_index_state WHERE id = :stateId")
+    void deleteState(long stateId);
+
+    // ==================== FTS ROWS ====================
+
+    @Insert
+    void insertSections(List<LessonFtsEntity> sections);
+
+    @Query("DELETE FROM lesson_fts WHERE rowid >= :firstRowId AND rowid < :endRowId")
+    void deleteSections(long firstRowId, long endRowId);
+
+    /**
+     * Match lesson sections. Sections with more matches come first.
+     * Matched terms in the snippet are wrapped in LessonSearchHit.MATCH_START / MATCH_END.
+     * @param match FTS4 match expression
+     * @param limit maximum number of hits
+     */
+    @Query("SELECT s.courseId AS courseId, s.lessonAsset AS lessonAsset, s.title AS lessonTitle, "
+            + "(lesson_fts.rowid % " + LessonFtsEntity.MAX_SECTIONS + ") AS sectionIndex, "
+            + "lesson_fts.heading AS heading, "
+            + "snippet(lesson_fts, char(2), char(3), '…', -1, 12) AS snippet "
+            + "FROM lesson_fts "
+            + "JOIN lesson_index_state s ON s.id = lesson_fts.rowid / " + LessonFtsEntity.MAX_SECTIONS + " "
+            + "WHERE lesson_fts MATCH :match "
+            + "ORDER BY length(offsets(lesson_fts)) DESC "
+            + "LIMIT :limit")
+    List<LessonSearchHit> search(String match, int limit);
+}
@@ -0,0 +1,68 @@
+package com.codelearn.android.data.database;
+
+/**
+ * Full-text search hit for one lesson section
+ * Snippet text has matched terms wrapped in MATCH_START / MATCH_END. Control characters are
+ * used instead of markup because lesson text may itself contain angle brackets.
+ */
+public class LessonSearchHit {
+
+    public static final char MATCH_START = '\u0002';
+    public static final char MATCH_END = '\u0003';
+
+    private int courseId;
+    private String lessonAsset;
+    private String lessonTitle;
+    private int sectionIndex; // 0 = text before the first heading
+    private String heading;
+    private String snippet;
+
+    // Getters and Setters
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getLessonAsset() {
+        return lessonAsset;
+    }
+
+    public void setLessonAsset(String lessonAsset) {
+        this.lessonAsset = lessonAsset;
+    }
+
+    public String getLessonTitle() {
+        return lessonTitle;
+    }
+
+    public void setLessonTitle(String lessonTitle) {
+        this.lessonTitle = lessonTitle;
+    }
+
+    public int getSectionIndex() {
+        return sectionIndex;
+    }
+
+    public void setSectionIndex(int sectionIndex) {
+        this.sectionIndex = sectionIndex;
+    }
+
+    public String getHeading() {
+        return heading;
+    }
+
+    public void setHeading(String heading) {
+        this.heading = heading;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -0,0 +1,35 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import java.util.List;
+
+/**
+ * Data access for course progress
+ */
+@Dao
+public interface ProgressDao {
+
+    @Upsert
+    void upsert(ProgressEntity progress);
+
+    @Upsert
+    void upsertAll(List<ProgressEntity> progress);
+
+    @Query("SELECT * FROM progress")
+    List<ProgressEntity> getAll();
+
+    @Query("SELECT * FROM progress WHERE courseId = :courseId")
+    ProgressEntity getForCourse(int courseId);
+
+    /**
+     * Highest journal sequence number applied to any row, 0 if none
+     */
+    @Query("SELECT MAX(journalSeq) FROM progress")
+    long getMaxJournalSeq();
+
+    @Query("DELETE FROM progress")
+    void deleteAll();
+}
@@ -0,0 +1,148 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.codelearn.android.model.Course;
+
+/**
+ * Room row for the learning progress of one course
+ * Kept apart from the catalog so catalog updates never touch user progress
+ */
+@Entity(tableName = "progress",
+        indices = {
+                @Index("lastAccessDate")
+        })
+public class ProgressEntity {
+
+    @PrimaryKey
+    private int courseId;
+
+    private String currentLesson;
+    private int completedLessons;
+    private int totalMinutesSpent;
+    private int experiencePoints;
+    private int learningStreak;
+    private long lastAccessDate;
+
+    // Reading time in milliseconds; totalMinutesSpent is derived from it
+    @ColumnInfo(defaultValue = "0")
+    private long totalMillisSpent;
+
+    // Highest progress journal record already applied to this row
+    @ColumnInfo(defaultValue = "0")
+    private long journalSeq;
+
+    public ProgressEntity() {
+    }
+
+    public ProgressEntity(int courseId) {
+        this.courseId = courseId;
+    }
+
+    /**
+     * Create a row from the progress fields of a course
+     * @param course course to copy
+     * @return progress entity
+     */
+    public static ProgressEntity fromCourse(Course course) {
+        ProgressEntity entity = new ProgressEntity(course.getId());
+        entity.currentLesson = course.getCurrentLesson();
+        entity.completedLessons = course.getCompletedLessons();
+        entity.totalMinutesSpent = course.getTotalMinutesSpent();
+        entity.experiencePoints = course.getExperiencePoints();
+        entity.learningStreak = course.getLearningStreak();
+        entity.lastAccessDate = course.getLastAccessDate();
+        return entity;
+    }
+
+    /**
+     * Copy the stored progress into a course model
+     * @param course course to update
+     */
+    public void applyTo(Course course) {
+        long updatedAt = course.getUpdatedAt();
+        course.setCurrentLesson(currentLesson != null ? currentLesson : "");
+        course.setCompletedLessons(completedLessons);
+        course.setTotalMinutesSpent(totalMinutesSpent);
+        course.setExperiencePoints(experiencePoints);
+        course.setLearningStreak(learningStreak);
+        course.setLastAccessDate(lastAccessDate);
+        course.setUpdatedAt(updatedAt);
+    }
+
+    // Getters and Setters
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCurrentLesson() {
+        return currentLesson;
+    }
+
+    public void setCurrentLesson(String currentLesson) {
+        this.currentLesson = currentLesson;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(int completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public int getTotalMinutesSpent() {
+        return totalMinutesSpent;
+    }
+
+    public void setTotalMinutesSpent(int totalMinutesSpent) {
+        this.totalMinutesSpent = totalMinutesSpent;
+    }
+
+    public int getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public void setExperiencePoints(int experiencePoints) {
+        this.experiencePoints = experiencePoints;
+    }
+
+    public int getLearningStreak() {
+        return learningStreak;
+    }
+
+    public void setLearningStreak(int learningStreak) {
+        this.learningStreak = learningStreak;
+    }
+
+    public long getLastAccessDate() {
+        return lastAccessDate;
+    }
+
+    public void setLastAccessDate(long lastAccessDate) {
+        this.lastAccessDate = lastAccessDate;
+    }
+
+    public long getTotalMillisSpent() {
+        return totalMillisSpent;
+    }
+
+    public void setTotalMillisSpent(long totalMillisSpent) {
+        this.totalMillisSpent = totalMillisSpent;
+    }
+
+    public long getJournalSeq() {
+        return journalSeq;
+    }
+
+    public void setJournalSeq(long journalSeq) {
+        this.journalSeq = journalSeq;
+    }
+}
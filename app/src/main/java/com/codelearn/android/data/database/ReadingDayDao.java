@@ -0,0 +1,32 @@
+package com.codelearn.android.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import java.util.List;
+
+/**
+ * Data access for per-day reading statistics
+ */
+@Dao
+public interface ReadingDayDao {
+
+    @Upsert
+    void upsertAll(List<ReadingDayEntity> days);
+
+    @Query("SELECT * FROM reading_days WHERE epochDay = :epochDay AND courseId = :courseId AND lessonAsset = :lessonAsset")
+    ReadingDayEntity get(long epochDay, int courseId, String lessonAsset);
+
+    @Query("SELECT * FROM reading_days WHERE epochDay >= :fromDay ORDER BY epochDay")
+    List<ReadingDayEntity> getSince(long fromDay);
+
+    /**
+     * Reading time over all days, 0 if nothing was read
+     */
+    @Query("SELECT SUM(millisSpent) FROM reading_days")
+    long getTotalMillisSpent();
+
+    @Query("DELETE FROM reading_days")
+    void deleteAll();
+}
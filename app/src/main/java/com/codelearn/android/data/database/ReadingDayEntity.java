@@ -0,0 +1,80 @@
+package com.codelearn.android.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+/**
+ * Reading time and scroll depth of one lesson on one day
+ * Filled by ReadingSessionTracker; one row per day, course and lesson.
+ */
+@Entity(tableName = "reading_days",
+        primaryKeys = {"epochDay", "courseId", "lessonAsset"})
+public class ReadingDayEntity {
+
+    private long epochDay; // days since 1970-01-01 in the device time zone
+    private int courseId;
+    @NonNull
+    private String lessonAsset = "";
+    private long millisSpent;
+    private int maxScrollDepth; // per mille of the lesson height
+
+    public ReadingDayEntity() {
+    }
+
+    public ReadingDayEntity(long epochDay, int courseId, @NonNull String lessonAsset) {
+        this.epochDay = epochDay;
+        this.courseId = courseId;
+        this.lessonAsset = lessonAsset;
+    }
+
+    /**
+     * Add the values of another bucket for the same day and lesson
+     * @param other bucket to add
+     */
+    public void add(ReadingDayEntity other) {
+        millisSpent += other.millisSpent;
+        maxScrollDepth = Math.max(maxScrollDepth, other.maxScrollDepth);
+    }
+
+    // Getters and Setters
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(long epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    @NonNull
+    public String getLessonAsset() {
+        return lessonAsset;
+    }
+
+    public void setLessonAsset(@NonNull String lessonAsset) {
+        this.lessonAsset = lessonAsset;
+    }
+
+    public long getMillisSpent() {
+        return millisSpent;
+    }
+
+    public void setMillisSpent(long millisSpent) {
+        this.millisSpent = millisSpent;
+    }
+
+    public int getMaxScrollDepth() {
+        return maxScrollDepth;
+    }
+
+    public void setMaxScrollDepth(int maxScrollDepth) {
+        this.maxScrollDepth = maxScrollDepth;
+    }
+}
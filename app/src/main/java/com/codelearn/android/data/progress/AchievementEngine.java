@@ -0,0 +1,226 @@
+package com.codelearn.android.data.progress;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.database.AchievementDao;
+import com.codelearn.android.data.database.AchievementEntity;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.LearningStatsEntity;
+import com.codelearn.android.model.Achievement;
+import com.codelearn.android.utils.AppExecutors;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unlocks achievements as progress events arrive
+ *
+ * Each achievement category subscribes to one event type: lessons completed and experience
+ * points to LESSON_COMPLETED, streaks to STREAK_INCREMENTED and courses to COURSE_COMPLETED.
+ * Locked rules are kept per category in ascending target order, so an event only looks at
+ * the categories subscribed to it and stops at the first target not yet reached. The cost of
+ * an event does not grow with the size of the achievement catalog.
+ */
+public class AchievementEngine {
+
+    /**
+     * Progress events rules subscribe to
+     */
+    enum Trigger {
+        LESSON_COMPLETED,
+        STREAK_INCREMENTED,
+        COURSE_COMPLETED
+    }
+
+    /**
+     * Callback for loading achievements
+     */
+    public interface LoadAchievementsCallback {
+        void onAchievementsLoaded(List<Achievement> achievements);
+
+        void onDataNotAvailable(Exception e);
+    }
+
+    private static final Map<Trigger, List<String>> CATEGORIES_BY_TRIGGER = new EnumMap<>(Trigger.class);
+
+    static {
+        CATEGORIES_BY_TRIGGER.put(Trigger.LESSON_COMPLETED,
+                List.of(Achievement.CATEGORY_PROGRESS, Achievement.CATEGORY_MILESTONE));
+        CATEGORIES_BY_TRIGGER.put(Trigger.STREAK_INCREMENTED, List.of(Achievement.CATEGORY_STREAK));
+        CATEGORIES_BY_TRIGGER.put(Trigger.COURSE_COMPLETED, List.of(Achievement.CATEGORY_COURSE));
+    }
+
+    private final AppDatabase database;
+    private final AppExecutors appExecutors;
+
+    // Locked rules per category, lowest target first; disk IO thread only, null until loaded
+    private Map<String, ArrayDeque<Rule>> lockedByCategory;
+
+    private AchievementEngine(AppDatabase database, AppExecutors appExecutors) {
+        this.database = database;
+        this.appExecutors = appExecutors;
+    }
+
+    /**
+     * Returns the process-wide engine instance
+     * @return singleton AchievementEngine instance
+     */
+    public static AchievementEngine getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Load all achievements with their unlock state
+     * @param callback called on the disk IO thread
+     */
+    public void getAchievements(@NonNull LoadAchievementsCallback callback) {
+        appExecutors.diskIO().execute(() -> {
+            try {
+                List<AchievementEntity> entities = database.achievementDao().getAll();
+                List<Achievement> achievements = new ArrayList<>(entities.size());
+                for (AchievementEntity entity : entities) {
+                    achievements.add(entity.toAchievement());
+                }
+                callback.onAchievementsLoaded(achievements);
+            } catch (RuntimeException e) {
+                callback.onDataNotAvailable(e);
+            }
+        });
+    }
+
+    /**
+     * Reload the rules, e.g. after the catalog or the unlock state changed
+     */
+    public void invalidate() {
+        appExecutors.diskIO().execute(() -> lockedByCategory = null);
+    }
+
+    // ==================== PROGRESS STORE HOOKS ====================
+
+    /**
+     * Check the rules subscribed to the events of a committed batch
+     * @param batch committed counter changes
+     */
+    @WorkerThread
+    void onProgress(LearningStatsEngine.Batch batch) {
+        LearningStatsEntity totals = batch.getTotals();
+        if (!ensureRules(totals)) {
+            return;
+        }
+
+        if (batch.hasLessonCompleted()) {
+            evaluate(Trigger.LESSON_COMPLETED, totals);
+        }
+        if (batch.hasStreakIncrement()) {
+            evaluate(Trigger.STREAK_INCREMENTED, totals);
+        }
+        if (batch.hasCourseCompleted()) {
+            evaluate(Trigger.COURSE_COMPLETED, totals);
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Build the rule index once the catalog is in the database. Every rule is checked once
+     * against the current totals so unlocks missed before the index existed are caught up.
+     * @return false while there are no achievement definitions yet
+     */
+    private boolean ensureRules(LearningStatsEntity totals) {
+        if (lockedByCategory != null) {
+            return true;
+        }
+
+        List<AchievementEntity> all = database.achievementDao().getAll();
+        if (all.isEmpty()) {
+            return false;
+        }
+
+        Map<String, List<Rule>> rules = new HashMap<>();
+        for (AchievementEntity entity : all) {
+            if (entity.isUnlocked() || entity.getCategory() == null) {
+                continue;
+            }
+            List<Rule> category = rules.get(entity.getCategory());
+            if (category == null) {
+                category = new ArrayList<>();
+                rules.put(entity.getCategory(), category);
+            }
+            category.add(new Rule(entity.getId(), entity.getTarget()));
+        }
+
+        lockedByCategory = new HashMap<>();
+        for (Map.Entry<String, List<Rule>> entry : rules.entrySet()) {
+            List<Rule> category = entry.getValue();
+            Collections.sort(category, Comparator.comparingInt(rule -> rule.target));
+            lockedByCategory.put(entry.getKey(), new ArrayDeque<>(category));
+        }
+
+        for (Trigger trigger : Trigger.values()) {
+            evaluate(trigger, totals);
+        }
+        return true;
+    }
+
+    private void evaluate(Trigger trigger, LearningStatsEntity totals) {
+        AchievementDao dao = database.achievementDao();
+        for (String category : CATEGORIES_BY_TRIGGER.get(trigger)) {
+            ArrayDeque<Rule> locked = lockedByCategory.get(category);
+            if (locked == null) {
+                continue;
+            }
+
+            int value = metric(category, totals);
+            while (!locked.isEmpty() && value >= locked.peekFirst().target) {
+                Rule rule = locked.pollFirst();
+                dao.unlock(rule.achievementId, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private static int metric(String category, LearningStatsEntity totals) {
+        switch (category) {
+            case Achievement.CATEGORY_PROGRESS:
+                return totals.getCompletedLessons();
+            case Achievement.CATEGORY_STREAK:
+                // The longest streak, so a streak reached before the rules loaded still counts
+                return totals.getLongestStreak();
+            case Achievement.CATEGORY_COURSE:
+                return totals.getCompletedCourses();
+            case Achievement.CATEGORY_MILESTONE:
+                return totals.getExperiencePoints();
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Locked achievement and the value its category metric must reach
+     */
+    private static class Rule {
+        final int achievementId;
+        final int target;
+
+        Rule(int achievementId, int target) {
+            this.achievementId = achievementId;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final AchievementEngine INSTANCE = new AchievementEngine(
+                AppDatabase.getInstance(CodeLearnApplication.getInstance()),
+                AppExecutors.getInstance());
+    }
+}
@@ -0,0 +1,256 @@
+package com.codelearn.android.data.progress;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.database.ActivityDayEntity;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.LearningStatsDao;
+import com.codelearn.android.data.database.LearningStatsEntity;
+import com.codelearn.android.data.database.ProgressEntity;
+import com.codelearn.android.model.LearningStats;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental learning totals, streaks and XP
+ *
+ * Every progress delta that ProgressStore commits is also applied here, inside the same
+ * transaction: it moves the course streak, the overall streak, the per-day activity row and
+ * the single learning_stats row forward by the change it carries. Reading the totals is one
+ * cached row, independent of how much history exists.
+ */
+public class LearningStatsEngine {
+
+    /**
+     * Callback for loading the totals
+     */
+    public interface LoadStatsCallback {
+        void onStatsLoaded(LearningStats stats);
+    }
+
+    private final AppDatabase database;
+    private final AppExecutors appExecutors;
+
+    // Last committed totals; replaced, never modified, after each flush
+    private volatile LearningStatsEntity committed;
+
+    LearningStatsEngine(AppDatabase database, AppExecutors appExecutors) {
+        this.database = database;
+        this.appExecutors = appExecutors;
+    }
+
+    /**
+     * Returns the process-wide engine instance
+     * @return singleton LearningStatsEngine instance
+     */
+    public static LearningStatsEngine getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Get the current totals. Answers on the calling thread once they are cached,
+     * otherwise on the disk IO thread after one row read.
+     * @param callback receives the totals
+     */
+    public void getStats(@NonNull LoadStatsCallback callback) {
+        LearningStatsEntity counters = committed;
+        if (counters != null) {
+            callback.onStatsLoaded(toStats(counters));
+            return;
+        }
+        appExecutors.diskIO().execute(() -> callback.onStatsLoaded(toStats(loadCommitted())));
+    }
+
+    // ==================== PROGRESS STORE HOOKS ====================
+
+    /**
+     * Start applying deltas; must be called inside the database transaction of a flush
+     */
+    @WorkerThread
+    Batch begin() {
+        LearningStatsEntity stats = database.learningStatsDao().getStats();
+        return new Batch(stats != null ? stats : new LearningStatsEntity());
+    }
+
+    /**
+     * Make the totals of a committed batch visible to readers
+     */
+    void publish(Batch batch) {
+        committed = batch.stats;
+    }
+
+    /**
+     * Drop the counters after all progress was deleted
+     */
+    @WorkerThread
+    void reset() {
+        LearningStatsDao dao = database.learningStatsDao();
+        dao.deleteStats();
+        dao.deleteDays();
+        committed = new LearningStatsEntity();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    @WorkerThread
+    private LearningStatsEntity loadCommitted() {
+        LearningStatsEntity counters = committed;
+        if (counters == null) {
+            counters = database.learningStatsDao().getStats();
+            if (counters == null) {
+                counters = new LearningStatsEntity();
+            }
+            committed = counters;
+        }
+        return counters;
+    }
+
+    private static LearningStats toStats(LearningStatsEntity counters) {
+        // A streak survives until the end of the day after the last active day
+        long today = LocalDate.now().toEpochDay();
+        int currentStreak = today - counters.getLastActiveDay() <= 1 ? counters.getCurrentStreak() : 0;
+        return new LearningStats(counters.getActiveCourses(), counters.getCompletedLessons(),
+                counters.getExperiencePoints(), counters.getTotalMillisSpent() / 60_000L,
+                currentStreak, counters.getLongestStreak());
+    }
+
+    private static long epochDay(long timeMillis, ZoneId zone) {
+        return Instant.ofEpochMilli(timeMillis).atZone(zone).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Streak after activity on a day
+     * @param streak streak before
+     * @param lastDay previous active day, or NO_DAY
+     * @param day day of the activity
+     */
+    private static int nextStreak(int streak, long lastDay, long day) {
+        if (lastDay == LearningStatsEntity.NO_DAY || day > lastDay + 1) {
+            return 1;
+        }
+        if (day == lastDay + 1) {
+            return streak + 1;
+        }
+        // Same day, or a late record for an earlier day
+        return Math.max(streak, 1);
+    }
+
+    /**
+     * Counter changes of one flush
+     */
+    final class Batch {
+        private final LearningStatsEntity stats;
+        private final Map<Long, ActivityDayEntity> days = new HashMap<>();
+        private final ZoneId zone = ZoneId.systemDefault();
+        private boolean lessonCompleted;
+        private boolean streakIncremented;
+        private boolean courseCompleted;
+
+        private Batch(LearningStatsEntity stats) {
+            this.stats = stats;
+        }
+
+        /**
+         * Apply a delta to its progress row and move every counter by the change
+         * @param delta coalesced progress change
+         * @param row stored row of the course; newRow if it was just created
+         * @param totalLessons lesson count of the course, 0 if unknown
+         */
+        void apply(ProgressDelta delta, ProgressEntity row, boolean newRow, int totalLessons) {
+            int completedBefore = row.getCompletedLessons();
+            int xpBefore = row.getExperiencePoints();
+            long previousAccess = row.getLastAccessDate();
+
+            delta.applyTo(row, Constants.XP_PER_LESSON);
+
+            long day = epochDay(delta.lastAccessDate > 0 ? delta.lastAccessDate : System.currentTimeMillis(), zone);
+            long previousDay = previousAccess > 0 ? epochDay(previousAccess, zone) : LearningStatsEntity.NO_DAY;
+            row.setLearningStreak(nextStreak(row.getLearningStreak(), previousDay, day));
+
+            int lessons = row.getCompletedLessons() - completedBefore;
+            int xp = row.getExperiencePoints() - xpBefore;
+            if (newRow) {
+                stats.setActiveCourses(stats.getActiveCourses() + 1);
+            }
+            if (totalLessons > 0 && completedBefore < totalLessons && row.getCompletedLessons() >= totalLessons) {
+                stats.setCompletedCourses(stats.getCompletedCourses() + 1);
+                courseCompleted = true;
+            }
+            lessonCompleted |= lessons > 0;
+            stats.setCompletedLessons(stats.getCompletedLessons() + lessons);
+            stats.setExperiencePoints(stats.getExperiencePoints() + xp);
+            stats.setTotalMillisSpent(stats.getTotalMillisSpent() + delta.millisSpent);
+
+            int streak = nextStreak(stats.getCurrentStreak(), stats.getLastActiveDay(), day);
+            streakIncremented |= streak > stats.getCurrentStreak();
+            stats.setCurrentStreak(streak);
+            stats.setLongestStreak(Math.max(stats.getLongestStreak(), streak));
+            stats.setLastActiveDay(Math.max(stats.getLastActiveDay(), day));
+
+            ActivityDayEntity activity = days.get(day);
+            if (activity == null) {
+                activity = new ActivityDayEntity(day);
+                days.put(day, activity);
+            }
+            activity.setLessonsCompleted(activity.getLessonsCompleted() + lessons);
+            activity.setExperiencePoints(activity.getExperiencePoints() + xp);
+            activity.setMillisSpent(activity.getMillisSpent() + delta.millisSpent);
+        }
+
+        boolean hasLessonCompleted() {
+            return lessonCompleted;
+        }
+
+        boolean hasStreakIncrement() {
+            return streakIncremented;
+        }
+
+        boolean hasCourseCompleted() {
+            return courseCompleted;
+        }
+
+        /**
+         * Totals including this batch
+         */
+        LearningStatsEntity getTotals() {
+            return stats;
+        }
+
+        /**
+         * Write the counters; must run in the same transaction as the progress rows
+         */
+        void finish() {
+            LearningStatsDao dao = database.learningStatsDao();
+            List<ActivityDayEntity> rows = new ArrayList<>(days.size());
+            for (ActivityDayEntity activity : days.values()) {
+                ActivityDayEntity row = dao.getDay(activity.getEpochDay());
+                if (row != null) {
+                    row.add(activity);
+                    activity = row;
+                }
+                rows.add(activity);
+            }
+            dao.upsertDays(rows);
+            dao.upsertStats(stats);
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final LearningStatsEngine INSTANCE = new LearningStatsEngine(
+                AppDatabase.getInstance(CodeLearnApplication.getInstance()),
+                AppExecutors.getInstance());
+    }
+}
@@ -0,0 +1,90 @@
+package com.codelearn.android.data.progress;
+
+import com.codelearn.android.data.database.ProgressEntity;
+
+/**
+ * Coalesced progress changes of one course
+ * Merging keeps the latest lesson and access time, the highest completed count and the sum
+ * of reading time, so any number of viewer events collapses into one row update.
+ */
+final class ProgressDelta {
+
+    private static final String SEPARATOR = "\t";
+
+    final int courseId;
+    String currentLesson;
+    long lastAccessDate;
+    int completedLessons;
+    long millisSpent;
+
+    ProgressDelta(int courseId) {
+        this.courseId = courseId;
+    }
+
+    /**
+     * Fold a newer delta of the same course into this one
+     */
+    void merge(ProgressDelta newer) {
+        if (newer.currentLesson != null) {
+            currentLesson = newer.currentLesson;
+        }
+        lastAccessDate = Math.max(lastAccessDate, newer.lastAccessDate);
+        completedLessons = Math.max(completedLessons, newer.completedLessons);
+        millisSpent += newer.millisSpent;
+    }
+
+    /**
+     * Apply the changes to a stored row. XP is derived from newly completed lessons.
+     * @param row progress row to update
+     * @param xpPerLesson experience points per newly completed lesson
+     */
+    void applyTo(ProgressEntity row, int xpPerLesson) {
+        if (currentLesson != null) {
+            row.setCurrentLesson(currentLesson);
+        }
+        if (lastAccessDate > row.getLastAccessDate()) {
+            row.setLastAccessDate(lastAccessDate);
+        }
+        if (completedLessons > row.getCompletedLessons()) {
+            row.setExperiencePoints(row.getExperiencePoints()
+                    + (completedLessons - row.getCompletedLessons()) * xpPerLesson);
+            row.setCompletedLessons(completedLessons);
+        }
+        if (millisSpent > 0) {
+            row.setTotalMillisSpent(row.getTotalMillisSpent() + millisSpent);
+            row.setTotalMinutesSpent((int) (row.getTotalMillisSpent() / 60_000L));
+        }
+    }
+
+    /**
+     * One journal line: seq, course id, access time, completed count, reading time, lesson
+     */
+    String toJournalLine(long seq) {
+        return seq + SEPARATOR + courseId + SEPARATOR + lastAccessDate + SEPARATOR + completedLessons
+                + SEPARATOR + millisSpent + SEPARATOR + (currentLesson != null ? currentLesson : "");
+    }
+
+    /**
+     * Parse a journal line
+     * @param line line written by toJournalLine
+     * @param seqOut receives the sequence number at index 0
+     * @return delta, or null for a torn or malformed line
+     */
+    static ProgressDelta fromJournalLine(String line, long[] seqOut) {
+        String[] fields = line.split(SEPARATOR, 6);
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            seqOut[0] = Long.parseLong(fields[0]);
+            ProgressDelta delta = new ProgressDelta(Integer.parseInt(fields[1]));
+            delta.lastAccessDate = Long.parseLong(fields[2]);
+            delta.completedLessons = Integer.parseInt(fields[3]);
+            delta.millisSpent = Long.parseLong(fields[4]);
+            delta.currentLesson = fields[5].isEmpty() ? null : fields[5];
+            return delta;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.codelearn.android.data.progress;
+
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only text journal of progress deltas not yet committed to the database
+ * Each append is synced to disk, so progress survives a crash between database flushes.
+ * Only used from the disk IO thread.
+ */
+class ProgressJournal {
+
+    private final File file;
+
+    ProgressJournal(File file) {
+        this.file = file;
+    }
+
+    @WorkerThread
+    void append(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+    }
+
+    /**
+     * Read every line. A last line cut off by a crash is dropped by the caller's parser.
+     */
+    @WorkerThread
+    List<String> readAll() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            // Nothing journaled yet
+        }
+        return lines;
+    }
+
+    /**
+     * Drop all records once they are committed to the database
+     */
+    @WorkerThread
+    void clear() throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Cannot clear " + file);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.codelearn.android.data.progress;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.CourseEntity;
+import com.codelearn.android.data.database.ProgressDao;
+import com.codelearn.android.data.database.ProgressEntity;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Write-behind store for course progress
+ *
+ * Viewer events are merged per course in memory and never touch the disk on the calling thread.
+ * Merged deltas are appended to a journal about once a second and committed to the progress
+ * table in one transaction per flush, either after FLUSH_DELAY_MS or when flush() is called.
+ * Every journal record carries a sequence number and each row stores the last one applied, so
+ * replaying the journal after a crash never counts a delta twice. LearningStatsEngine moves
+ * the streak and XP totals forward in the same transactions, and AchievementEngine checks the
+ * rules subscribed to what changed.
+ */
+public class ProgressStore {
+
+    private static final String TAG = "ProgressStore";
+    private static final long JOURNAL_DELAY_MS = 1000;
+    static final long FLUSH_DELAY_MS = 15_000;
+
+    /**
+     * Callback for resetting progress
+     */
+    public interface ResetCallback {
+        void onProgressReset();
+    }
+
+    private final AppDatabase database;
+    private final ProgressJournal journal;
+    private final CourseRepository courseRepository;
+    private final AppExecutors appExecutors;
+    private final LearningStatsEngine statsEngine;
+    private final AchievementEngine achievementEngine;
+
+    private final Object lock = new Object();
+    // Deltas not yet committed to the database
+    private Map<Integer, ProgressDelta> pending = new HashMap<>();
+    // Deltas not yet in the journal
+    private Map<Integer, ProgressDelta> unjournaled = new HashMap<>();
+    private long lastSeq;
+    private boolean journalScheduled;
+    private boolean flushScheduled;
+
+    // Only touched on the disk IO thread
+    private boolean recovered;
+
+    ProgressStore(AppDatabase database, ProgressJournal journal, CourseRepository courseRepository,
+                  AppExecutors appExecutors, LearningStatsEngine statsEngine,
+                  AchievementEngine achievementEngine) {
+        this.database = database;
+        this.journal = journal;
+        this.courseRepository = courseRepository;
+        this.appExecutors = appExecutors;
+        this.statsEngine = statsEngine;
+        this.achievementEngine = achievementEngine;
+    }
+
+    /**
+     * Returns the process-wide store instance
+     * @return singleton ProgressStore instance
+     */
+    public static ProgressStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Replay journal records left by a crash. Called at startup, before the catalog is loaded.
+     */
+    public void recover() {
+        appExecutors.diskIO().execute(this::ensureRecovered);
+    }
+
+    /**
+     * Record that a lesson was opened
+     * @param courseId course id
+     * @param lessonAsset lesson file name
+     */
+    public void onLessonOpened(int courseId, @NonNull String lessonAsset) {
+        ProgressDelta delta = new ProgressDelta(courseId);
+        delta.currentLesson = lessonAsset;
+        delta.lastAccessDate = System.currentTimeMillis();
+        record(delta);
+    }
+
+    /**
+     * Record that a lesson was finished
+     * @param courseId course id
+     * @param lessonIndex index of the finished lesson in the course sequence
+     */
+    public void onLessonCompleted(int courseId, int lessonIndex) {
+        ProgressDelta delta = new ProgressDelta(courseId);
+        delta.completedLessons = lessonIndex + 1;
+        delta.lastAccessDate = System.currentTimeMillis();
+        record(delta);
+    }
+
+    /**
+     * Record reading time
+     * @param courseId course id
+     * @param millis time spent in the course since the last report
+     */
+    public void onTimeSpent(int courseId, long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        ProgressDelta delta = new ProgressDelta(courseId);
+        delta.millisSpent = millis;
+        delta.lastAccessDate = System.currentTimeMillis();
+        record(delta);
+    }
+
+    /**
+     * Commit pending progress now, e.g. from onPause. Returns immediately.
+     */
+    public void flush() {
+        appExecutors.diskIO().execute(this::flushNow);
+    }
+
+    /**
+     * Delete all progress and reading statistics and reload the catalog without it
+     * @param callback called once the reloaded catalog is available
+     */
+    public void resetAll(@NonNull ResetCallback callback) {
+        synchronized (lock) {
+            pending.clear();
+            unjournaled.clear();
+        }
+
+        appExecutors.diskIO().execute(() -> {
+            ensureRecovered();
+            try {
+                journal.clear();
+            } catch (IOException e) {
+                Log.w(TAG, "Could not clear progress journal", e);
+            }
+            database.runInTransaction(() -> {
+                database.progressDao().deleteAll();
+                database.readingDayDao().deleteAll();
+                statsEngine.reset();
+                database.achievementDao().resetAll();
+            });
+            achievementEngine.invalidate();
+
+            courseRepository.reloadCatalog(new CourseRepository.LoadCoursesCallback() {
+                @Override
+                public void onCoursesLoaded(List<Course> courses) {
+                    callback.onProgressReset();
+                }
+
+                @Override
+                public void onDataNotAvailable(Exception e) {
+                    callback.onProgressReset();
+                }
+            });
+        });
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void record(ProgressDelta delta) {
+        boolean scheduleJournal;
+        boolean scheduleFlush;
+        synchronized (lock) {
+            mergeInto(pending, delta);
+            mergeInto(unjournaled, delta);
+            scheduleJournal = !journalScheduled;
+            scheduleFlush = !flushScheduled;
+            journalScheduled = true;
+            flushScheduled = true;
+        }
+
+        if (scheduleJournal) {
+            appExecutors.scheduleDelayed(() -> appExecutors.diskIO().execute(this::writeJournal), JOURNAL_DELAY_MS);
+        }
+        if (scheduleFlush) {
+            appExecutors.scheduleDelayed(this::flush, FLUSH_DELAY_MS);
+        }
+    }
+
+    private static void mergeInto(Map<Integer, ProgressDelta> deltas, ProgressDelta delta) {
+        ProgressDelta existing = deltas.get(delta.courseId);
+        if (existing == null) {
+            existing = new ProgressDelta(delta.courseId);
+            deltas.put(delta.courseId, existing);
+        }
+        existing.merge(delta);
+    }
+
+    @WorkerThread
+    private void writeJournal() {
+        ensureRecovered();
+        Map<Integer, ProgressDelta> drained;
+        List<String> lines;
+        synchronized (lock) {
+            journalScheduled = false;
+            drained = unjournaled;
+            lines = drainUnjournaledLocked();
+        }
+
+        try {
+            journal.append(lines);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not append to progress journal", e);
+            synchronized (lock) {
+                restoreUnjournaledLocked(drained);
+            }
+        }
+    }
+
+    @WorkerThread
+    private void flushNow() {
+        ensureRecovered();
+        Map<Integer, ProgressDelta> drained;
+        List<String> lines;
+        Map<Integer, ProgressDelta> deltas;
+        long maxSeq;
+        synchronized (lock) {
+            flushScheduled = false;
+            // Everything committed below is journaled first, with a sequence number up to maxSeq
+            drained = unjournaled;
+            lines = drainUnjournaledLocked();
+            deltas = pending;
+            pending = new HashMap<>();
+            maxSeq = lastSeq;
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        boolean journaled = false;
+        List<ProgressEntity> rows = new ArrayList<>();
+        LearningStatsEngine.Batch stats;
+        try {
+            journal.append(lines);
+            journaled = true;
+            stats = database.runInTransaction(() -> commit(deltas.values(), maxSeq, rows));
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Progress flush failed, will retry", e);
+            boolean scheduleFlush;
+            synchronized (lock) {
+                // Older deltas go first so the newest lesson still wins
+                for (ProgressDelta newer : pending.values()) {
+                    mergeInto(deltas, newer);
+                }
+                pending = deltas;
+                if (!journaled) {
+                    restoreUnjournaledLocked(drained);
+                }
+                scheduleFlush = !flushScheduled;
+                flushScheduled = true;
+            }
+            if (scheduleFlush) {
+                appExecutors.scheduleDelayed(this::flush, FLUSH_DELAY_MS);
+            }
+            return;
+        }
+
+        // The deltas are committed; requeueing them now would count time, lessons and XP twice
+        try {
+            journal.clear();
+        } catch (IOException e) {
+            // Replay skips the records, their rows already carry maxSeq
+            Log.w(TAG, "Could not clear progress journal", e);
+        }
+        try {
+            statsEngine.publish(stats);
+            achievementEngine.onProgress(stats);
+            courseRepository.applyProgress(rows);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Committed progress could not be published", e);
+        }
+    }
+
+    /**
+     * Put back deltas whose journal append failed, so the next write journals them again
+     */
+    private void restoreUnjournaledLocked(Map<Integer, ProgressDelta> drained) {
+        for (ProgressDelta newer : unjournaled.values()) {
+            mergeInto(drained, newer);
+        }
+        unjournaled = drained;
+    }
+
+    private List<String> drainUnjournaledLocked() {
+        if (unjournaled.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> lines = new ArrayList<>(unjournaled.size());
+        for (ProgressDelta delta : unjournaled.values()) {
+            lines.add(delta.toJournalLine(++lastSeq));
+        }
+        unjournaled = new HashMap<>();
+        return lines;
+    }
+
+    private LearningStatsEngine.Batch commit(Iterable<ProgressDelta> deltas, long seq, List<ProgressEntity> rows) {
+        ProgressDao dao = database.progressDao();
+        LearningStatsEngine.Batch stats = statsEngine.begin();
+        for (ProgressDelta delta : deltas) {
+            ProgressEntity row = dao.getForCourse(delta.courseId);
+            boolean newRow = row == null;
+            if (newRow) {
+                row = new ProgressEntity(delta.courseId);
+            }
+            stats.apply(delta, row, newRow, totalLessons(delta.courseId));
+            row.setJournalSeq(seq);
+            rows.add(row);
+        }
+        dao.upsertAll(rows);
+        stats.finish();
+        return stats;
+    }
+
+    /**
+     * Apply journal records newer than the rows they belong to, then start a fresh journal
+     */
+    @WorkerThread
+    private void ensureRecovered() {
+        if (recovered) {
+            return;
+        }
+        recovered = true;
+
+        long maxSeq = database.progressDao().getMaxJournalSeq();
+        try {
+            List<String> lines = journal.readAll();
+            if (!lines.isEmpty()) {
+                long[] journalMaxSeq = new long[1];
+                LearningStatsEngine.Batch stats = database.runInTransaction(() -> replay(lines, journalMaxSeq));
+                maxSeq = Math.max(maxSeq, journalMaxSeq[0]);
+                journal.clear();
+                statsEngine.publish(stats);
+                achievementEngine.onProgress(stats);
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Progress journal recovery failed", e);
+        }
+
+        synchronized (lock) {
+            lastSeq = Math.max(lastSeq, maxSeq);
+        }
+    }
+
+    private LearningStatsEngine.Batch replay(List<String> lines, long[] maxSeqOut) {
+        ProgressDao dao = database.progressDao();
+        LearningStatsEngine.Batch stats = statsEngine.begin();
+        long[] seq = new long[1];
+        Map<Integer, ProgressEntity> rows = new HashMap<>();
+        Set<Integer> created = new HashSet<>();
+        for (String line : lines) {
+            ProgressDelta delta = ProgressDelta.fromJournalLine(line, seq);
+            if (delta == null) {
+                continue;
+            }
+            maxSeqOut[0] = Math.max(maxSeqOut[0], seq[0]);
+
+            ProgressEntity row = rows.get(delta.courseId);
+            if (row == null) {
+                row = dao.getForCourse(delta.courseId);
+                if (row == null) {
+                    row = new ProgressEntity(delta.courseId);
+                    created.add(delta.courseId);
+                }
+                rows.put(delta.courseId, row);
+            }
+            if (seq[0] > row.getJournalSeq()) {
+                stats.apply(delta, row, created.remove(delta.courseId), totalLessons(delta.courseId));
+                row.setJournalSeq(seq[0]);
+            }
+        }
+
+        dao.upsertAll(new ArrayList<>(rows.values()));
+        stats.finish();
+        return stats;
+    }
+
+    private int totalLessons(int courseId) {
+        Course course = courseRepository.getCourseById(courseId);
+        if (course != null) {
+            return course.getTotalLessons();
+        }
+        // The catalog may not be loaded yet during recovery
+        CourseEntity entity = database.courseDao().getById(courseId);
+        return entity != null ? entity.getTotalLessons() : 0;
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final ProgressStore INSTANCE = new ProgressStore(
+                AppDatabase.getInstance(CodeLearnApplication.getInstance()),
+                new ProgressJournal(new File(CodeLearnApplication.getInstance().getFilesDir(),
+                        Constants.PROGRESS_JOURNAL_FILE)),
+                CourseRepository.getInstance(),
+                AppExecutors.getInstance(),
+                LearningStatsEngine.getInstance(),
+                AchievementEngine.getInstance());
+    }
+}
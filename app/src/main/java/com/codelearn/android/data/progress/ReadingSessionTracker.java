@@ -0,0 +1,306 @@
+package com.codelearn.android.data.progress;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.ReadingDayDao;
+import com.codelearn.android.data.database.ReadingDayEntity;
+import com.codelearn.android.model.LessonNavigator;
+import com.codelearn.android.utils.AppExecutors;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Foreground reading time and scroll depth of the lessons of one course
+ *
+ * The viewer reports lifecycle and scroll events on the main thread. Each event is written as
+ * a sample into preallocated primitive arrays used as a single-producer, single-consumer
+ * ring buffer, so a scroll frame costs a few array stores and no allocation. Samples are
+ * aggregated on the disk IO thread into per-day, per-lesson buckets in reading_days, and
+ * the reading time is passed on to ProgressStore.
+ */
+public class ReadingSessionTracker {
+
+    private static final String TAG = "ReadingSessionTracker";
+
+    /** Scroll depth of a lesson read to the end, in per mille */
+    public static final int MAX_DEPTH = 1000;
+
+    private static final byte EVENT_START = 0; // value: lesson id
+    private static final byte EVENT_SCROLL = 1; // value: scroll depth
+    private static final byte EVENT_STOP = 2;
+
+    private static final int CAPACITY = 512;
+    private static final int DRAIN_THRESHOLD = CAPACITY / 2;
+    // Slots kept free for start/stop samples when scroll samples back up
+    private static final int MARKER_RESERVE = 16;
+    private static final long SCROLL_SAMPLE_INTERVAL_MS = 100;
+    private static final int COMPLETED_DEPTH = 950;
+
+    private final int courseId;
+    private final AppDatabase database;
+    private final ProgressStore progressStore;
+    private final AppExecutors appExecutors;
+
+    // Ring buffer; slots are written on the main thread before `written` is published
+    private final long[] sampleTimes = new long[CAPACITY];
+    private final byte[] sampleTypes = new byte[CAPACITY];
+    private final int[] sampleValues = new int[CAPACITY];
+    private volatile long written;
+    private volatile long consumed;
+
+    // Lesson ids used in samples are positions in this list
+    private final List<String> lessons = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Runnable drainTask = this::drain;
+
+    // Main thread state
+    private int lessonId = -1;
+    private int lessonIndex = LessonNavigator.NOT_FOUND;
+    private boolean resumed;
+    private boolean completionReported;
+    private long lastScrollSampleAt;
+    private int maxDepth;
+
+    // Disk IO thread state
+    private int activeLesson = -1;
+    private long activeSince;
+
+    public ReadingSessionTracker(int courseId) {
+        this(courseId, AppDatabase.getInstance(CodeLearnApplication.getInstance()),
+                ProgressStore.getInstance(), AppExecutors.getInstance());
+    }
+
+    ReadingSessionTracker(int courseId, AppDatabase database, ProgressStore progressStore,
+                          AppExecutors appExecutors) {
+        this.courseId = courseId;
+        this.database = database;
+        this.progressStore = progressStore;
+        this.appExecutors = appExecutors;
+    }
+
+    // ==================== VIEWER EVENTS ====================
+
+    /**
+     * A lesson is shown; time is counted towards it from now on while resumed
+     * @param lesson lesson file name
+     * @param index position in the course sequence, or NOT_FOUND while it is unknown
+     */
+    @MainThread
+    public void startLesson(@NonNull String lesson, int index) {
+        int id = lessons.indexOf(lesson);
+        if (id < 0) {
+            lessons.add(lesson);
+            id = lessons.size() - 1;
+        }
+        if (id == lessonId) {
+            setLessonIndex(index);
+            return;
+        }
+
+        lessonId = id;
+        lessonIndex = index;
+        completionReported = false;
+        maxDepth = 0;
+        if (resumed) {
+            put(EVENT_START, id, SystemClock.elapsedRealtime());
+        }
+    }
+
+    /**
+     * Position of the current lesson, once the lesson sequence is loaded
+     */
+    @MainThread
+    public void setLessonIndex(int index) {
+        lessonIndex = index;
+        reportCompletion();
+    }
+
+    @MainThread
+    public void onResume() {
+        resumed = true;
+        if (lessonId >= 0) {
+            put(EVENT_START, lessonId, SystemClock.elapsedRealtime());
+        }
+    }
+
+    @MainThread
+    public void onPause() {
+        if (resumed && lessonId >= 0) {
+            put(EVENT_STOP, 0, SystemClock.elapsedRealtime());
+        }
+        resumed = false;
+        scheduleDrain();
+    }
+
+    /**
+     * Called for every scroll frame. Samples at most every SCROLL_SAMPLE_INTERVAL_MS unless
+     * the reader went further down than before.
+     * @param scrollY vertical scroll offset in pixels
+     * @param viewportHeight visible height in pixels
+     * @param contentHeight lesson height in pixels
+     */
+    @MainThread
+    public void onScrolled(int scrollY, int viewportHeight, int contentHeight) {
+        if (!resumed || lessonId < 0 || contentHeight <= 0) {
+            return;
+        }
+
+        int depth = (int) Math.min(MAX_DEPTH, (long) (scrollY + viewportHeight) * MAX_DEPTH / contentHeight);
+        long now = SystemClock.elapsedRealtime();
+        if (depth <= maxDepth && now - lastScrollSampleAt < SCROLL_SAMPLE_INTERVAL_MS) {
+            return;
+        }
+
+        lastScrollSampleAt = now;
+        maxDepth = Math.max(maxDepth, depth);
+        put(EVENT_SCROLL, depth, now);
+        reportCompletion();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void put(byte type, int value, long time) {
+        long position = written;
+        long used = position - consumed;
+        if (used >= CAPACITY || (type == EVENT_SCROLL && used >= CAPACITY - MARKER_RESERVE)) {
+            // The aggregator is behind; losing a scroll sample only lowers precision
+            return;
+        }
+
+        int slot = (int) (position % CAPACITY);
+        sampleTimes[slot] = time;
+        sampleTypes[slot] = type;
+        sampleValues[slot] = value;
+        written = position + 1;
+
+        if (used + 1 >= DRAIN_THRESHOLD) {
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            appExecutors.diskIO().execute(drainTask);
+        }
+    }
+
+    /**
+     * Reaching the end of a lesson counts as finishing it, which also covers the last lesson
+     */
+    private void reportCompletion() {
+        if (!completionReported && maxDepth >= COMPLETED_DEPTH && lessonIndex != LessonNavigator.NOT_FOUND) {
+            completionReported = true;
+            progressStore.onLessonCompleted(courseId, lessonIndex);
+        }
+    }
+
+    @WorkerThread
+    private void drain() {
+        drainScheduled.set(false);
+        long start = consumed;
+        long end = written;
+        if (start == end) {
+            return;
+        }
+
+        // Sample times are elapsed realtime; this converts them to wall time for day buckets
+        long wallOffset = System.currentTimeMillis() - SystemClock.elapsedRealtime();
+        ZoneId zone = ZoneId.systemDefault();
+        Map<String, ReadingDayEntity> buckets = new HashMap<>();
+        long millisSpent = 0;
+        long lastTime = activeSince;
+
+        for (long i = start; i < end; i++) {
+            int slot = (int) (i % CAPACITY);
+            long time = sampleTimes[slot];
+            int value = sampleValues[slot];
+            lastTime = time;
+
+            switch (sampleTypes[slot]) {
+                case EVENT_START:
+                    millisSpent += closeSegment(time, wallOffset, zone, buckets);
+                    activeLesson = value;
+                    activeSince = time;
+                    break;
+                case EVENT_SCROLL:
+                    if (activeLesson >= 0) {
+                        ReadingDayEntity bucket = bucket(time, wallOffset, zone, buckets);
+                        bucket.setMaxScrollDepth(Math.max(bucket.getMaxScrollDepth(), value));
+                    }
+                    break;
+                case EVENT_STOP:
+                    millisSpent += closeSegment(time, wallOffset, zone, buckets);
+                    activeLesson = -1;
+                    break;
+            }
+        }
+        consumed = end;
+
+        // A session still running is counted up to its last sample and continues from there
+        if (activeLesson >= 0) {
+            millisSpent += closeSegment(lastTime, wallOffset, zone, buckets);
+            activeSince = lastTime;
+        }
+
+        save(buckets.values());
+        progressStore.onTimeSpent(courseId, millisSpent);
+    }
+
+    private long closeSegment(long time, long wallOffset, ZoneId zone, Map<String, ReadingDayEntity> buckets) {
+        if (activeLesson < 0 || time <= activeSince) {
+            return 0;
+        }
+        long duration = time - activeSince;
+        ReadingDayEntity bucket = bucket(time, wallOffset, zone, buckets);
+        bucket.setMillisSpent(bucket.getMillisSpent() + duration);
+        return duration;
+    }
+
+    private ReadingDayEntity bucket(long time, long wallOffset, ZoneId zone, Map<String, ReadingDayEntity> buckets) {
+        long epochDay = Instant.ofEpochMilli(wallOffset + time).atZone(zone).toLocalDate().toEpochDay();
+        String lesson = lessons.get(activeLesson);
+        String key = epochDay + "/" + lesson;
+
+        ReadingDayEntity bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new ReadingDayEntity(epochDay, courseId, lesson);
+            buckets.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    private void save(Iterable<ReadingDayEntity> buckets) {
+        try {
+            ReadingDayDao readingDayDao = database.readingDayDao();
+            List<ReadingDayEntity> rows = new ArrayList<>();
+            database.runInTransaction(() -> {
+                for (ReadingDayEntity bucket : buckets) {
+                    ReadingDayEntity row = readingDayDao.get(bucket.getEpochDay(), courseId, bucket.getLessonAsset());
+                    if (row == null) {
+                        row = bucket;
+                    } else {
+                        row.add(bucket);
+                    }
+                    rows.add(row);
+                }
+                readingDayDao.upsertAll(rows);
+            });
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Could not save reading statistics", e);
+        }
+    }
+}
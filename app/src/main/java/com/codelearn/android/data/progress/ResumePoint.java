@@ -0,0 +1,44 @@
+package com.codelearn.android.data.progress;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Where a course was left: the lesson and its scroll offset
+ */
+public final class ResumePoint {
+
+    private final int courseId;
+    private final String lesson;
+    private final int scrollY;
+    private final long updatedAt;
+
+    ResumePoint(int courseId, @NonNull String lesson, int scrollY, long updatedAt) {
+        this.courseId = courseId;
+        this.lesson = lesson;
+        this.scrollY = scrollY;
+        this.updatedAt = updatedAt;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Lesson file name
+     */
+    @NonNull
+    public String getLesson() {
+        return lesson;
+    }
+
+    /**
+     * Vertical scroll offset in CSS pixels, so it survives density changes
+     */
+    public int getScrollY() {
+        return scrollY;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,191 @@
+package com.codelearn.android.data.progress;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Last reading position per course, kept in a small file that is read once at startup
+ *
+ * The file holds a few bytes per course, so it is read synchronously when the store is
+ * created and the home screen can offer "continue" without waiting for the database or the
+ * catalog. Updates are applied in memory and written back on the disk IO thread.
+ *
+ * Layout, big-endian: int magic "CLRP", int count,
+ * count x { int course id, long updated at, int scroll offset, modified UTF-8 lesson }
+ */
+public class ResumePointStore {
+
+    private static final String TAG = "ResumePointStore";
+    private static final int MAGIC = 0x434C5250;
+
+    private final File file;
+    private final AppExecutors appExecutors;
+
+    // Read and written on the main thread
+    private final Map<Integer, ResumePoint> points;
+    private boolean writeScheduled;
+
+    private ResumePointStore(File file, AppExecutors appExecutors) {
+        this.file = file;
+        this.appExecutors = appExecutors;
+        this.points = read(file);
+    }
+
+    /**
+     * Returns the process-wide store instance. The first call reads the file.
+     * @return singleton ResumePointStore instance
+     */
+    public static ResumePointStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Resume point of a course
+     * @param courseId course id
+     * @return resume point, or null if the course was never opened
+     */
+    @MainThread
+    @Nullable
+    public ResumePoint get(int courseId) {
+        return points.get(courseId);
+    }
+
+    /**
+     * Most recently updated resume point
+     * @return resume point, or null if no course was opened yet
+     */
+    @MainThread
+    @Nullable
+    public ResumePoint getLatest() {
+        ResumePoint latest = null;
+        for (ResumePoint point : points.values()) {
+            if (latest == null || point.getUpdatedAt() > latest.getUpdatedAt()) {
+                latest = point;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Remember the reading position of a course
+     * @param courseId course id
+     * @param lesson lesson file name
+     * @param scrollY scroll offset in CSS pixels
+     */
+    @MainThread
+    public void update(int courseId, @NonNull String lesson, int scrollY) {
+        ResumePoint current = points.get(courseId);
+        if (current != null && current.getLesson().equals(lesson) && current.getScrollY() == scrollY) {
+            return;
+        }
+        points.put(courseId, new ResumePoint(courseId, lesson, Math.max(0, scrollY), System.currentTimeMillis()));
+        scheduleWrite();
+    }
+
+    /**
+     * Forget every position, e.g. when progress is reset
+     */
+    @MainThread
+    public void clear() {
+        points.clear();
+        scheduleWrite();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void scheduleWrite() {
+        if (writeScheduled) {
+            return;
+        }
+        writeScheduled = true;
+
+        // Posted so several updates in one main thread pass end up in one write
+        appExecutors.executeMainThread(() -> {
+            writeScheduled = false;
+            List<ResumePoint> snapshot = new ArrayList<>(points.values());
+            appExecutors.diskIO().execute(() -> write(snapshot));
+        });
+    }
+
+    @WorkerThread
+    private void write(List<ResumePoint> snapshot) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(snapshot.size());
+            for (ResumePoint point : snapshot) {
+                out.writeInt(point.getCourseId());
+                out.writeLong(point.getUpdatedAt());
+                out.writeInt(point.getScrollY());
+                out.writeUTF(point.getLesson());
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "Could not write resume points", e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "Could not replace " + file);
+            temp.delete();
+        }
+    }
+
+    private static Map<Integer, ResumePoint> read(File file) {
+        Map<Integer, ResumePoint> points = new HashMap<>();
+        if (!file.isFile()) {
+            return points;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a resume point file");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int courseId = in.readInt();
+                long updatedAt = in.readLong();
+                int scrollY = in.readInt();
+                String lesson = in.readUTF();
+                points.put(courseId, new ResumePoint(courseId, lesson, scrollY, updatedAt));
+            }
+        } catch (IOException e) {
+            // Losing the positions only means starting at the saved lesson progress again
+            Log.w(TAG, "Dropping unreadable resume points", e);
+            points.clear();
+        }
+        return points;
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final ResumePointStore INSTANCE = new ResumePointStore(
+                new File(CodeLearnApplication.getInstance().getFilesDir(), Constants.RESUME_POINTS_FILE),
+                AppExecutors.getInstance());
+    }
+}
@@ -0,0 +1,430 @@
+package com.codelearn.android.data.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Extracts visible text from lesson HTML
+ * Tags are dropped, script and style blocks are skipped and common entities are decoded,
+ * so escaped code examples come out as the code the reader sees.
+ */
+public final class HtmlTextExtractor {
+
+    private static final String[] VOID_ELEMENTS = {
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "source", "wbr"
+    };
+
+    /**
+     * Lesson text between two h1/h2 headings
+     * Section 0 holds the text before the first heading, section n starts at the n-th heading.
+     */
+    public static class Section {
+        private final String heading;
+        private final String text;
+        private final String code;
+
+        Section(String heading, String text, String code) {
+            this.heading = heading;
+            this.text = text;
+            this.code = code;
+        }
+
+        public String getHeading() {
+            return heading;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public boolean isEmpty() {
+            return heading.isEmpty() && text.isEmpty() && code.isEmpty();
+        }
+    }
+
+    private HtmlTextExtractor() {
+        throw new AssertionError("HtmlTextExtractor should not be instantiated");
+    }
+
+    /**
+     * Get the visible text of an HTML document with whitespace collapsed
+     * @param html HTML source
+     * @return plain text
+     */
+    public static String extractText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder text = new StringBuilder(html.length() / 2);
+        int length = html.length();
+        int i = 0;
+        boolean pendingSpace = false;
+
+        while (i < length) {
+            char c = html.charAt(i);
+
+            if (c == '<' && isTagStart(html, i + 1)) {
+                int tagEnd = html.indexOf('>', i);
+                if (tagEnd < 0) {
+                    break;
+                }
+
+                String skipUntil = null;
+                if (startsWithTag(html, i, "script")) {
+                    skipUntil = "</script";
+                } else if (startsWithTag(html, i, "style")) {
+                    skipUntil = "</style";
+                } else if (html.startsWith("<!--", i)) {
+                    skipUntil = "-->";
+                }
+
+                if (skipUntil != null) {
+                    int end = indexOfIgnoreCase(html, skipUntil, i + 1);
+                    if (end < 0) {
+                        break;
+                    }
+                    tagEnd = html.indexOf('>', end);
+                    if (tagEnd < 0) {
+                        break;
+                    }
+                }
+
+                pendingSpace = true;
+                i = tagEnd + 1;
+                continue;
+            }
+
+            char decoded = c;
+            if (c == '&') {
+                int entityEnd = html.indexOf(';', i);
+                if (entityEnd > i && entityEnd - i <= 8) {
+                    char entity = decodeEntity(html, i + 1, entityEnd);
+                    if (entity != 0) {
+                        decoded = entity;
+                        i = entityEnd;
+                    }
+                }
+            }
+
+            if (isSpace(decoded)) {
+                pendingSpace = true;
+            } else {
+                if (pendingSpace && text.length() > 0) {
+                    text.append(' ');
+                }
+                pendingSpace = false;
+                text.append(decoded);
+            }
+            i++;
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Get the document title from the title tag, falling back to the first h1
+     * @param html HTML source
+     * @return title text, or null if the document has none
+     */
+    public static String extractTitle(String html) {
+        if (html == null) {
+            return null;
+        }
+
+        String title = extractElementText(html, "title");
+        if (title == null || title.isEmpty()) {
+            title = extractElementText(html, "h1");
+        }
+        return title == null || title.isEmpty() ? null : title;
+    }
+
+    /**
+     * Split an HTML document into sections at every h1 and h2 heading.
+     * Text inside pre, code or elements with a "code" class is returned separately as code.
+     * @param html HTML source
+     * @return sections in document order, always at least one
+     */
+    public static List<Section> extractSections(String html) {
+        List<Section> sections = new ArrayList<>();
+        SectionBuilder current = new SectionBuilder();
+        if (html == null) {
+            sections.add(current.build());
+            return sections;
+        }
+
+        Deque<Boolean> openCodeFlags = new ArrayDeque<>();
+        Deque<String> openTags = new ArrayDeque<>();
+        int codeDepth = 0;
+        boolean inHeading = false;
+        int length = html.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = html.charAt(i);
+
+            if (c == '<' && isTagStart(html, i + 1)) {
+                int tagEnd = html.indexOf('>', i);
+                if (tagEnd < 0) {
+                    break;
+                }
+
+                if (html.startsWith("<!--", i)) {
+                    int end = html.indexOf("-->", i + 4);
+                    i = end < 0 ? length : end + 3;
+                    continue;
+                }
+                if (startsWithTag(html, i, "script") || startsWithTag(html, i, "style")) {
+                    String closing = startsWithTag(html, i, "script") ? "</script" : "</style";
+                    int end = indexOfIgnoreCase(html, closing, i + 1);
+                    int closeEnd = end < 0 ? -1 : html.indexOf('>', end);
+                    i = closeEnd < 0 ? length : closeEnd + 1;
+                    continue;
+                }
+
+                boolean closingTag = i + 1 < length && html.charAt(i + 1) == '/';
+                String tag = tagName(html, closingTag ? i + 2 : i + 1, tagEnd);
+                boolean heading = "h1".equals(tag) || "h2".equals(tag);
+
+                if (closingTag) {
+                    if (heading) {
+                        inHeading = false;
+                    }
+                    // Pop up to and including the matching open tag
+                    if (openTags.contains(tag)) {
+                        String popped;
+                        do {
+                            popped = openTags.pop();
+                            if (openCodeFlags.pop()) {
+                                codeDepth--;
+                            }
+                        } while (!popped.equals(tag));
+                    }
+                } else if (!tag.isEmpty()) {
+                    if (heading) {
+                        sections.add(current.build());
+                        current = new SectionBuilder();
+                        inHeading = true;
+                    }
+
+                    boolean selfClosing = html.charAt(tagEnd - 1) == '/';
+                    if (!selfClosing && !isVoidElement(tag)) {
+                        boolean code = "pre".equals(tag) || "code".equals(tag)
+                                || hasCodeClass(html.substring(i, tagEnd));
+                        openTags.push(tag);
+                        openCodeFlags.push(code);
+                        if (code) {
+                            codeDepth++;
+                        }
+                    }
+                }
+
+                current.space();
+                i = tagEnd + 1;
+                continue;
+            }
+
+            char decoded = c;
+            if (c == '&') {
+                int entityEnd = html.indexOf(';', i);
+                if (entityEnd > i && entityEnd - i <= 8) {
+                    char entity = decodeEntity(html, i + 1, entityEnd);
+                    if (entity != 0) {
+                        decoded = entity;
+                        i = entityEnd;
+                    }
+                }
+            }
+
+            if (inHeading) {
+                current.appendHeading(decoded);
+            } else if (codeDepth > 0) {
+                current.appendCode(decoded);
+            } else {
+                current.appendText(decoded);
+            }
+            i++;
+        }
+
+        sections.add(current.build());
+        return sections;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static String tagName(String html, int start, int tagEnd) {
+        int end = start;
+        while (end < tagEnd && Character.isLetterOrDigit(html.charAt(end))) {
+            end++;
+        }
+        return html.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isVoidElement(String tag) {
+        for (String voidElement : VOID_ELEMENTS) {
+            if (voidElement.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCodeClass(String openTag) {
+        int classStart = indexOfIgnoreCase(openTag, "class=", 0);
+        if (classStart < 0 || classStart + 6 >= openTag.length()) {
+            return false;
+        }
+
+        int valueStart = classStart + 6;
+        char quote = openTag.charAt(valueStart);
+        int valueEnd;
+        if (quote == '"' || quote == '\'') {
+            valueStart++;
+            valueEnd = openTag.indexOf(quote, valueStart);
+        } else {
+            valueEnd = valueStart;
+            while (valueEnd < openTag.length() && !Character.isWhitespace(openTag.charAt(valueEnd))) {
+                valueEnd++;
+            }
+        }
+        if (valueEnd < 0) {
+            valueEnd = openTag.length();
+        }
+
+        for (String className : openTag.substring(valueStart, valueEnd).trim().split("\\s+")) {
+            if ("code".equals(className) || className.startsWith("code-") || className.endsWith("-code")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String extractElementText(String html, String tag) {
+        int start = indexOfIgnoreCase(html, "<" + tag, 0);
+        if (start < 0) {
+            return null;
+        }
+        int contentStart = html.indexOf('>', start);
+        int end = indexOfIgnoreCase(html, "</" + tag, contentStart);
+        if (contentStart < 0 || end < 0) {
+            return null;
+        }
+        return extractText(html.substring(contentStart + 1, end));
+    }
+
+    private static boolean startsWithTag(String html, int offset, String tag) {
+        int nameEnd = offset + 1 + tag.length();
+        if (nameEnd > html.length() || !html.regionMatches(true, offset + 1, tag, 0, tag.length())) {
+            return false;
+        }
+        return nameEnd == html.length() || !Character.isLetterOrDigit(html.charAt(nameEnd));
+    }
+
+    private static int indexOfIgnoreCase(String text, String needle, int from) {
+        int last = text.length() - needle.length();
+        for (int i = Math.max(from, 0); i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Like browsers, treat "<" as text unless a tag name, "/" or "!" follows
+     */
+    private static boolean isTagStart(String html, int next) {
+        if (next >= html.length()) {
+            return false;
+        }
+        char c = html.charAt(next);
+        return Character.isLetter(c) || c == '/' || c == '!';
+    }
+
+    private static boolean isSpace(char c) {
+        return Character.isWhitespace(c) || c == '\u00a0';
+    }
+
+    private static char decodeEntity(String html, int start, int end) {
+        String name = html.substring(start, end);
+        switch (name) {
+            case "lt":
+                return '<';
+            case "gt":
+                return '>';
+            case "amp":
+                return '&';
+            case "quot":
+                return '"';
+            case "apos":
+                return '\'';
+            case "nbsp":
+                return ' ';
+            default:
+                break;
+        }
+
+        if (name.length() > 1 && name.charAt(0) == '#') {
+            try {
+                int codePoint = name.charAt(1) == 'x' || name.charAt(1) == 'X'
+                        ? Integer.parseInt(name.substring(2), 16)
+                        : Integer.parseInt(name.substring(1));
+                if (codePoint > 0 && codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    return (char) codePoint;
+                }
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Collects the three text parts of a section with whitespace collapsed
+     */
+    private static class SectionBuilder {
+        private final StringBuilder heading = new StringBuilder();
+        private final StringBuilder text = new StringBuilder();
+        private final StringBuilder code = new StringBuilder();
+        private boolean pendingSpace;
+
+        void space() {
+            pendingSpace = true;
+        }
+
+        void appendHeading(char c) {
+            append(heading, c);
+        }
+
+        void appendText(char c) {
+            append(text, c);
+        }
+
+        void appendCode(char c) {
+            append(code, c);
+        }
+
+        private void append(StringBuilder target, char c) {
+            if (isSpace(c)) {
+                pendingSpace = true;
+                return;
+            }
+            if (pendingSpace && target.length() > 0) {
+                target.append(' ');
+            }
+            pendingSpace = false;
+            target.append(c);
+        }
+
+        Section build() {
+            return new Section(heading.toString(), text.toString(), code.toString());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.codelearn.android.data.search;
+
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.LessonFtsEntity;
+import com.codelearn.android.data.database.LessonIndexStateEntity;
+import com.codelearn.android.data.database.LessonSearchDao;
+import com.codelearn.android.data.database.LessonSearchHit;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the SQLite FTS4 lesson index in sync with the lesson assets
+ * Each lesson is keyed by the SHA-256 of its asset, so only changed lessons are re-indexed.
+ */
+class LessonFtsIndexer {
+
+    private final AppDatabase database;
+    private final LessonSearchDao dao;
+
+    LessonFtsIndexer(AppDatabase database) {
+        this.database = database;
+        this.dao = database.lessonSearchDao();
+    }
+
+    /**
+     * Index a lesson if its content changed since it was last indexed
+     * @param courseId owning course id
+     * @param lessonAsset lesson file name
+     * @param assetPath full asset path
+     * @param content raw asset bytes, left unchanged
+     * @param html asset decoded as UTF-8
+     * @return true if the lesson was (re-)indexed
+     */
+    @WorkerThread
+    boolean indexLesson(int courseId, String lessonAsset, String assetPath, ByteBuffer content, String html) {
+        String hash = hash(content);
+        LessonIndexStateEntity existing = dao.getState(assetPath);
+        if (existing != null && hash.equals(existing.getContentHash())) {
+            return false;
+        }
+
+        List<HtmlTextExtractor.Section> sections = HtmlTextExtractor.extractSections(html);
+        int sectionCount = Math.min(sections.size(), LessonFtsEntity.MAX_SECTIONS);
+        String title = HtmlTextExtractor.extractTitle(html);
+
+        database.runInTransaction(() -> {
+            LessonIndexStateEntity state = existing != null ? existing : new LessonIndexStateEntity();
+            state.setAssetPath(assetPath);
+            state.setCourseId(courseId);
+            state.setLessonAsset(lessonAsset);
+            state.setTitle(title);
+            state.setContentHash(hash);
+            state.setSectionCount(sectionCount);
+            state.setIndexedAt(System.currentTimeMillis());
+
+            long stateId;
+            if (existing != null) {
+                stateId = existing.getId();
+                deleteSections(stateId);
+                dao.updateState(state);
+            } else {
+                stateId = dao.insertState(state);
+            }
+
+            List<LessonFtsEntity> rows = new ArrayList<>(sectionCount);
+            for (int i = 0; i < sectionCount; i++) {
+                HtmlTextExtractor.Section section = sections.get(i);
+                if (!section.isEmpty()) {
+                    rows.add(new LessonFtsEntity(stateId, i, section.getHeading(), section.getText(),
+                            section.getCode()));
+                }
+            }
+            dao.insertSections(rows);
+        });
+
+        return true;
+    }
+
+    /**
+     * Drop indexed lessons whose assets are gone
+     * @param livePaths asset paths that still exist
+     * @return states of the dropped lessons
+     */
+    @WorkerThread
+    List<LessonIndexStateEntity> removeMissing(Set<String> livePaths) {
+        List<LessonIndexStateEntity> removed = new ArrayList<>();
+        for (LessonIndexStateEntity state : dao.getAllStates()) {
+            if (!livePaths.contains(state.getAssetPath())) {
+                removeLesson(state);
+                removed.add(state);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drop one lesson from the index
+     * @param assetPath full asset path
+     */
+    @WorkerThread
+    void removeLesson(String assetPath) {
+        LessonIndexStateEntity state = dao.getState(assetPath);
+        if (state != null) {
+            removeLesson(state);
+        }
+    }
+
+    /**
+     * Run a full-text query. Every query word is matched as a prefix.
+     * @param query user query
+     * @param limit maximum number of hits
+     * @return hits, most matches first
+     */
+    @WorkerThread
+    List<LessonSearchHit> search(String query, int limit) {
+        String match = toMatchExpression(query);
+        if (match.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return dao.search(match, limit);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void removeLesson(LessonIndexStateEntity state) {
+        database.runInTransaction(() -> {
+            deleteSections(state.getId());
+            dao.deleteState(state.getId());
+        });
+    }
+
+    private void deleteSections(long stateId) {
+        dao.deleteSections(LessonFtsEntity.rowIdFor(stateId, 0), LessonFtsEntity.rowIdFor(stateId + 1, 0));
+    }
+
+    /**
+     * Build an FTS4 expression from user input. Tokens only contain letters and digits,
+     * so no FTS syntax from the user reaches the query.
+     */
+    static String toMatchExpression(String query) {
+        StringBuilder match = new StringBuilder();
+        for (String term : TextTokenizer.tokenize(query)) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append(term).append('*');
+        }
+        return match.toString();
+    }
+
+    static String hash(ByteBuffer content) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(content.duplicate());
+            byte[] digest = sha256.digest();
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
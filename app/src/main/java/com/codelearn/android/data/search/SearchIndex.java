@@ -0,0 +1,349 @@
+package com.codelearn.android.data.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over courses and lessons
+ *
+ * Terms live in a sorted map so a query word is answered with one range scan over every
+ * term that starts with it. Each document is indexed under its raw terms and their
+ * Indonesian root forms. Documents can be added, replaced and removed one at a time,
+ * so content updates never rebuild the whole index.
+ */
+public class SearchIndex {
+
+    public static final float WEIGHT_TITLE = 5f;
+    public static final float WEIGHT_DESCRIPTION = 2f;
+    public static final float WEIGHT_CONTENT = 1f;
+
+    private static final int MAX_TERM_FREQUENCY = 10;
+    private static final int MAX_EXPANDED_TERMS = 64;
+    private static final float EXACT_MATCH_BONUS = 2f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final List<Integer> freeDocIds = new ArrayList<>();
+
+    /**
+     * Add or replace a course document
+     * @param courseId course id
+     * @param title course title
+     * @param description course description
+     */
+    public void putCourse(int courseId, String title, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, title, WEIGHT_TITLE);
+        addTerms(weights, description, WEIGHT_DESCRIPTION);
+        put(new Document(courseKey(courseId), SearchResult.Type.COURSE, courseId, null, title), weights);
+    }
+
+    /**
+     * Add or replace a lesson document
+     * @param courseId owning course id
+     * @param lessonAsset lesson file name
+     * @param title lesson title
+     * @param text visible lesson text
+     */
+    public void putLesson(int courseId, String lessonAsset, String title, String text) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, title, WEIGHT_TITLE);
+        addTerms(weights, text, WEIGHT_CONTENT);
+        put(new Document(lessonKey(courseId, lessonAsset), SearchResult.Type.LESSON, courseId, lessonAsset, title),
+                weights);
+    }
+
+    /**
+     * Remove a course document
+     * @param courseId course id
+     */
+    public void removeCourse(int courseId) {
+        remove(courseKey(courseId));
+    }
+
+    /**
+     * Remove a lesson document
+     * @param courseId owning course id
+     * @param lessonAsset lesson file name
+     */
+    public void removeLesson(int courseId, String lessonAsset) {
+        remove(lessonKey(courseId, lessonAsset));
+    }
+
+    /**
+     * Remove every document
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docIdsByKey.clear();
+            documents.clear();
+            freeDocIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed documents
+     * @return document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index. Every query word must match a term by prefix or by root form;
+     * results are ranked by the summed field weights of the matching terms.
+     * @param query user query
+     * @param limit maximum number of results
+     * @return ranked results, best first
+     */
+    public List<SearchResult> search(String query, int limit) {
+        List<String> queryTerms = TextTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            float[] scores = new float[documentCount];
+            int[] matchedWords = new int[documentCount];
+
+            for (int word = 0; word < queryTerms.size(); word++) {
+                String term = queryTerms.get(word);
+                scoreWord(term, word, scores, matchedWords);
+
+                String root = TextTokenizer.stem(term);
+                if (!root.equals(term)) {
+                    scoreWord(root, word, scores, matchedWords);
+                }
+            }
+
+            // Keep only the best "limit" hits in a min-heap instead of sorting every match
+            int required = queryTerms.size();
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit, Collections.reverseOrder());
+            for (int docId = 0; docId < documentCount; docId++) {
+                if (matchedWords[docId] != required || documents.get(docId) == null) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new Hit(docId, scores[docId]));
+                } else if (scores[docId] > best.peek().score) {
+                    best.poll();
+                    best.add(new Hit(docId, scores[docId]));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            Collections.sort(hits);
+
+            List<SearchResult> results = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                Document document = documents.get(hit.docId);
+                results.add(new SearchResult(document.type, document.courseId, document.lessonAsset,
+                        document.title, hit.score));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Add the scores of every term starting with the given prefix.
+     * matchedWords tracks, per document, how many query words in a row have matched so far.
+     */
+    private void scoreWord(String prefix, int word, float[] scores, int[] matchedWords) {
+        int expanded = 0;
+        for (Map.Entry<String, Postings> entry : terms.tailMap(prefix, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(prefix) || expanded++ >= MAX_EXPANDED_TERMS) {
+                break;
+            }
+
+            float bonus = term.length() == prefix.length() ? EXACT_MATCH_BONUS : 1f;
+            Postings postings = entry.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                int docId = postings.docIds[i];
+                if (matchedWords[docId] == word) {
+                    matchedWords[docId] = word + 1;
+                }
+                if (matchedWords[docId] == word + 1) {
+                    scores[docId] += postings.weights[i] * bonus;
+                }
+            }
+        }
+    }
+
+    private void put(Document document, Map<String, Float> weights) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.key);
+
+            int docId;
+            if (freeDocIds.isEmpty()) {
+                docId = documents.size();
+                documents.add(document);
+            } else {
+                docId = freeDocIds.remove(freeDocIds.size() - 1);
+                documents.set(docId, document);
+            }
+            docIdsByKey.put(document.key, docId);
+
+            document.terms = weights.keySet().toArray(new String[0]);
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                Postings postings = terms.get(entry.getKey());
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(entry.getKey(), postings);
+                }
+                postings.add(docId, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String key) {
+        Integer docId = docIdsByKey.remove(key);
+        if (docId == null) {
+            return;
+        }
+
+        Document document = documents.get(docId);
+        for (String term : document.terms) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(docId) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        documents.set(docId, null);
+        freeDocIds.add(docId);
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float fieldWeight) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : TextTokenizer.tokenize(text)) {
+            increment(frequencies, term);
+            String root = TextTokenizer.stem(term);
+            if (!root.equals(term)) {
+                increment(frequencies, root);
+            }
+        }
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            float weight = Math.min(entry.getValue(), MAX_TERM_FREQUENCY) * fieldWeight;
+            Float current = weights.get(entry.getKey());
+            weights.put(entry.getKey(), current != null ? current + weight : weight);
+        }
+    }
+
+    private static void increment(Map<String, Integer> frequencies, String term) {
+        Integer count = frequencies.get(term);
+        frequencies.put(term, count != null ? count + 1 : 1);
+    }
+
+    private static String courseKey(int courseId) {
+        return "course:" + courseId;
+    }
+
+    private static String lessonKey(int courseId, String lessonAsset) {
+        return "lesson:" + courseId + "/" + lessonAsset;
+    }
+
+    /**
+     * Indexed document with the terms needed to remove it again
+     */
+    private static class Document {
+        final String key;
+        final SearchResult.Type type;
+        final int courseId;
+        final String lessonAsset;
+        final String title;
+        String[] terms;
+
+        Document(String key, SearchResult.Type type, int courseId, String lessonAsset, String title) {
+            this.key = key;
+            this.type = type;
+            this.courseId = courseId;
+            this.lessonAsset = lessonAsset;
+            this.title = title;
+        }
+    }
+
+    /**
+     * Growable parallel arrays of document ids and term weights
+     */
+    private static class Postings {
+        int[] docIds = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int docId, float weight) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docIds[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            for (int i = 0; i < size; i++) {
+                if (docIds[i] == docId) {
+                    size--;
+                    docIds[i] = docIds[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Hit implements Comparable<Hit> {
+        final int docId;
+        final float score;
+
+        Hit(int docId, float score) {
+            this.docId = docId;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            return Float.compare(other.score, score);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.codelearn.android.data.search;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.content.LessonAssetReader;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.LessonIndexStateEntity;
+import com.codelearn.android.data.database.LessonSearchHit;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.utils.AppExecutors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Owns the search indexes over course headers and lesson text
+ * The in-memory index serves as-you-type course search; the SQLite FTS4 index serves lesson
+ * section search with snippets. Both are built on the disk IO executor at startup and
+ * updated per course or lesson afterwards.
+ */
+public class SearchRepository {
+
+    private static final String TAG = "SearchRepository";
+
+    private final LessonAssetReader assetReader;
+    private final CourseRepository courseRepository;
+    private final AppDatabase database;
+    private final AppExecutors appExecutors;
+    private final SearchIndex index = new SearchIndex();
+    private final LessonFtsIndexer ftsIndexer;
+
+    private volatile boolean indexReady;
+    private boolean buildStarted;
+
+    private SearchRepository(LessonAssetReader assetReader, CourseRepository courseRepository, AppDatabase database,
+                             AppExecutors appExecutors) {
+        this.assetReader = assetReader;
+        this.courseRepository = courseRepository;
+        this.database = database;
+        this.appExecutors = appExecutors;
+        this.ftsIndexer = new LessonFtsIndexer(database);
+    }
+
+    /**
+     * Returns the process-wide repository instance
+     * @return singleton SearchRepository instance
+     */
+    public static SearchRepository getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Build the index in the background. Later calls do nothing.
+     */
+    public synchronized void buildIndex() {
+        if (buildStarted) {
+            return;
+        }
+        buildStarted = true;
+
+        courseRepository.getCourses(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                appExecutors.diskIO().execute(() -> indexCatalog(courses));
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                Log.e(TAG, "Catalog not available, search index not built", e);
+                synchronized (SearchRepository.this) {
+                    buildStarted = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Check if the index has been built
+     * @return true once every course and lesson is indexed
+     */
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+
+    /**
+     * Search courses and lessons. Runs synchronously against the in-memory index.
+     * @param query user query
+     * @param limit maximum number of results
+     * @return ranked results, best first; partial while the index is still building
+     */
+    public List<SearchResult> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Full-text search inside lesson sections. Must be called off the main thread.
+     * @param query user query
+     * @param limit maximum number of hits
+     * @return hits with highlighted snippets, most matches first
+     */
+    @WorkerThread
+    public List<LessonSearchHit> searchLessons(String query, int limit) {
+        return ftsIndexer.search(query, limit);
+    }
+
+    /**
+     * Re-index one course header after it changed
+     * @param course changed course
+     */
+    public void reindexCourse(@NonNull Course course) {
+        appExecutors.diskIO().execute(() ->
+                index.putCourse(course.getId(), course.getTitle(), course.getDescription()));
+    }
+
+    /**
+     * Re-index one lesson after its content changed
+     * @param course owning course
+     * @param lessonAsset lesson file name
+     */
+    public void reindexLesson(@NonNull Course course, @NonNull String lessonAsset) {
+        appExecutors.diskIO().execute(() -> indexLesson(course, lessonAsset));
+    }
+
+    /**
+     * Refresh the index after a content update. Course headers are re-read, but only lessons
+     * whose asset changed are re-indexed; lessons that left the catalog are dropped.
+     * @param changedPaths asset paths whose content changed
+     */
+    public void reindexChangedAssets(@NonNull Set<String> changedPaths) {
+        courseRepository.getCourses(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                appExecutors.diskIO().execute(() -> reindexAssets(courses, changedPaths));
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                Log.e(TAG, "Catalog not available, search index not updated", e);
+            }
+        });
+    }
+
+    /**
+     * Drop one lesson from the index
+     * @param courseId owning course id
+     * @param lessonAsset lesson file name
+     */
+    public void removeLesson(int courseId, @NonNull String lessonAsset) {
+        appExecutors.diskIO().execute(() -> {
+            index.removeLesson(courseId, lessonAsset);
+            Course course = courseRepository.getCourseById(courseId);
+            String assetPath = course != null ? course.getOfflineAssetPath(lessonAsset) : null;
+            if (assetPath != null) {
+                ftsIndexer.removeLesson(assetPath);
+            }
+        });
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void indexCatalog(List<Course> courses) {
+        Set<String> livePaths = new HashSet<>();
+
+        for (Course course : courses) {
+            index.putCourse(course.getId(), course.getTitle(), course.getDescription());
+            for (String lessonAsset : database.lessonDao().getLessonSequence(course.getId())) {
+                String assetPath = course.getOfflineAssetPath(lessonAsset);
+                if (assetPath != null) {
+                    livePaths.add(assetPath);
+                }
+                indexLesson(course, lessonAsset);
+            }
+        }
+        ftsIndexer.removeMissing(livePaths);
+
+        indexReady = true;
+    }
+
+    private void reindexAssets(List<Course> courses, Set<String> changedPaths) {
+        Set<String> livePaths = new HashSet<>();
+
+        for (Course course : courses) {
+            index.putCourse(course.getId(), course.getTitle(), course.getDescription());
+            for (String lessonAsset : database.lessonDao().getLessonSequence(course.getId())) {
+                String assetPath = course.getOfflineAssetPath(lessonAsset);
+                if (assetPath == null) {
+                    continue;
+                }
+                livePaths.add(assetPath);
+                if (changedPaths.contains(assetPath)) {
+                    indexLesson(course, lessonAsset);
+                }
+            }
+        }
+
+        for (LessonIndexStateEntity state : ftsIndexer.removeMissing(livePaths)) {
+            index.removeLesson(state.getCourseId(), state.getLessonAsset());
+        }
+    }
+
+    /**
+     * Index one lesson in memory and, if its asset hash changed, in the FTS table
+     * @return true if the FTS rows were rewritten
+     */
+    private boolean indexLesson(Course course, String lessonAsset) {
+        String assetPath = course.getOfflineAssetPath(lessonAsset);
+        if (assetPath == null) {
+            return false;
+        }
+
+        try {
+            // A view of the mapped content pack; only the decoded text is copied
+            ByteBuffer content = assetReader.read(assetPath);
+            String html = StandardCharsets.UTF_8.decode(content.duplicate()).toString();
+            String title = HtmlTextExtractor.extractTitle(html);
+            index.putLesson(course.getId(), lessonAsset, title != null ? title : course.getTitle(),
+                    HtmlTextExtractor.extractText(html));
+            return ftsIndexer.indexLesson(course.getId(), lessonAsset, assetPath, content, html);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not index " + assetPath, e);
+            index.removeLesson(course.getId(), lessonAsset);
+            ftsIndexer.removeLesson(assetPath);
+            return false;
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final SearchRepository INSTANCE = new SearchRepository(
+                LessonAssetReader.getInstance(),
+                CourseRepository.getInstance(),
+                AppDatabase.getInstance(CodeLearnApplication.getInstance()),
+                AppExecutors.getInstance());
+    }
+}
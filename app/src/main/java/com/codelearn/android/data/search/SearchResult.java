@@ -0,0 +1,55 @@
+package com.codelearn.android.data.search;
+
+/**
+ * A ranked search hit for a course or a single lesson
+ */
+public class SearchResult {
+
+    public enum Type {
+        COURSE, LESSON
+    }
+
+    private final Type type;
+    private final int courseId;
+    private final String lessonAsset; // lesson file name, null for course hits
+    private final String title;
+    private final float score;
+
+    public SearchResult(Type type, int courseId, String lessonAsset, String title, float score) {
+        this.type = type;
+        this.courseId = courseId;
+        this.lessonAsset = lessonAsset;
+        this.title = title;
+        this.score = score;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public String getLessonAsset() {
+        return lessonAsset;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "type=" + type +
+                ", courseId=" + courseId +
+                ", lessonAsset='" + lessonAsset + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,188 @@
+package com.codelearn.android.data.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase search terms and reduces Indonesian words to a root form
+ * The stemmer is a light rule-based one: particles, possessive pronouns, derivational
+ * suffixes and the common me-/pe-/ber-/ter-/di-/ke-/se- prefixes are removed,
+ * so "pengenalan" and "mengenal" both reach "kenal".
+ * A prefix is only removed when what remains still looks like an Indonesian root, so
+ * "kelas", "method" or "server" are not cut down to "las", "thod" or "rver".
+ */
+public final class TextTokenizer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MIN_STEM_LENGTH = 3;
+    // Roots left after removing a prefix or a derivational suffix; shorter ones are mostly accidents
+    private static final int MIN_ROOT_LENGTH = 4;
+
+    // Consonant pairs that may start a root, mostly in loanwords: struktur, program, klik
+    private static final Set<String> ROOT_ONSETS = Set.of(
+            "bl", "br", "dr", "fl", "fr", "gl", "gr", "kh", "kl", "kr", "pl", "pr", "sk", "sl", "sp", "st", "sy", "tr");
+
+    // Technical vocabulary that only looks prefixed and still forms a valid root when cut
+    private static final Set<String> UNPREFIXED_WORDS = Set.of(
+            "default", "memori", "memory", "metadata", "method", "metode", "perintah", "selector",
+            "selektor", "semantic", "semantik", "terminal");
+
+    private TextTokenizer() {
+        throw new AssertionError("TextTokenizer should not be instantiated");
+    }
+
+    /**
+     * Split text into lowercase terms. Letters and digits form terms, everything else separates them.
+     * @param text source text
+     * @return terms in document order, including duplicates
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    terms.add(toLowerCase(text, start, i));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Reduce an Indonesian word to its root form
+     * @param term lowercase term
+     * @return root form, or the term itself if no rule applies
+     */
+    public static String stem(String term) {
+        if (term.length() <= MIN_STEM_LENGTH + 1 || !isAlphabetic(term)) {
+            return term;
+        }
+
+        String word = term;
+
+        // Particles: -lah, -kah, -tah, -pun
+        word = removeSuffix(word, "lah", "kah", "tah", "pun");
+        // Possessive pronouns: -ku, -mu, -nya
+        word = removeSuffix(word, "nya", "ku", "mu");
+
+        if (UNPREFIXED_WORDS.contains(word)) {
+            return word;
+        }
+
+        String withoutPrefix = removePrefix(word);
+        String withoutSuffix = removeDerivationalSuffix(withoutPrefix);
+
+        // Only strip "-i" / "-an" when a prefix was removed too, otherwise words like "kunci" break
+        if (withoutPrefix.equals(word) && !word.endsWith("kan")) {
+            return word;
+        }
+        return withoutSuffix;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static String removePrefix(String word) {
+        // Prefixes that change the first letter of the root
+        if (word.startsWith("meny") || word.startsWith("peny")) {
+            return stripIfLongEnough(word, 4, "s");
+        }
+        if (word.startsWith("meng") || word.startsWith("peng")) {
+            String root = stripIfLongEnough(word, 4, "");
+            if (!root.equals(word) && root.length() > 0 && isVowel(root.charAt(0))) {
+                // meng + vowel may hide a dropped "k": pengenalan -> kenal(an)
+                return "k" + root;
+            }
+            return root;
+        }
+        if (word.startsWith("mem") || word.startsWith("pem")) {
+            String root = stripIfLongEnough(word, 3, "");
+            if (!root.equals(word) && root.length() > 0 && isVowel(root.charAt(0))) {
+                // mem + vowel hides a dropped "p": memakai -> pakai
+                return "p" + root;
+            }
+            return root;
+        }
+        if (word.startsWith("men") || word.startsWith("pen")) {
+            String root = stripIfLongEnough(word, 3, "");
+            if (!root.equals(word) && root.length() > 0 && isVowel(root.charAt(0))) {
+                // men + vowel hides a dropped "t": menulis -> tulis
+                return "t" + root;
+            }
+            return root;
+        }
+
+        // Prefixes that keep the root intact
+        String[] prefixes = {"ber", "ter", "per", "me", "pe", "di", "ke", "se"};
+        for (String prefix : prefixes) {
+            if (word.startsWith(prefix)) {
+                return stripIfLongEnough(word, prefix.length(), "");
+            }
+        }
+        return word;
+    }
+
+    private static String stripIfLongEnough(String word, int prefixLength, String replacement) {
+        String root = replacement + word.substring(prefixLength);
+        return root.length() >= MIN_ROOT_LENGTH && hasRootShape(root) ? root : word;
+    }
+
+    private static String removeDerivationalSuffix(String word) {
+        for (String suffix : new String[]{"kan", "an", "i"}) {
+            if (word.endsWith(suffix) && word.length() - suffix.length() >= MIN_ROOT_LENGTH) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        return word;
+    }
+
+    /**
+     * Indonesian roots start with a vowel, a consonant and a vowel, or a known consonant pair
+     */
+    private static boolean hasRootShape(String root) {
+        return isVowel(root.charAt(0)) || isVowel(root.charAt(1)) || ROOT_ONSETS.contains(root.substring(0, 2));
+    }
+
+    private static String removeSuffix(String word, String... suffixes) {
+        for (String suffix : suffixes) {
+            if (word.endsWith(suffix) && word.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        return word;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static boolean isAlphabetic(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toLowerCase(String text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+}
@@ -7,6 +7,11 @@ import java.io.Serializable;
  */
 public class Achievement implements Serializable {
 
+    public static final String CATEGORY_PROGRESS = "PROGRESS"; // lessons completed
+    public static final String CATEGORY_STREAK = "STREAK"; // consecutive learning days
+    public static final String CATEGORY_COURSE = "COURSE"; // courses completed
+    public static final String CATEGORY_MILESTONE = "MILESTONE"; // experience points
+
     private int id;
     private String title;
     private String description;
@@ -16,6 +21,7 @@ public class Achievement implements Serializable {
     private long unlockedAt;
     private int points; // points awarded for achievement
     private String requirement; // what user needs to do
+    private int target; // value the category metric must reach, e.g. 7 for a 7-day streak
 
     // Default constructor
     public Achievement() {
@@ -117,6 +123,14 @@ public class Achievement implements Serializable {
         this.requirement = requirement;
     }
 
+    public int getTarget() {
+        return target;
+    }
+
+    public void setTarget(int target) {
+        this.target = target;
+    }
+
     // Helper methods
     public String getFormattedUnlockDate() {
         if (!isUnlocked) return "Tidak Terbuka";
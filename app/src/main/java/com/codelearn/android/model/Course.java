@@ -1,19 +1,20 @@
 package com.codelearn.android.model;
 
-import java.io.Serializable;
 import java.util.List;
 
 /**
  * Course entity representing a programming course
- * Contains course information and offline content
+ * Contains course information and offline content.
+ * Screens pass the course id and look the course up in CourseRepository instead of bundling it.
  */
-public class Course implements Serializable {
+public class Course {
 
     private int id;
 
     private String title;
     private String description;
     private String category; // "HTML", "CSS", "JavaScript"
+    private CourseCategory categoryType = CourseCategory.OTHER; // resolved from category
     private int difficulty; // 1-5 scale
     private int estimatedTime; // in minutes
     private String thumbnail;
@@ -31,6 +32,7 @@ public class Course implements Serializable {
     private int completedLessons; // completed lessons count
     private String currentLesson; // current lesson file name
     private List<String> lessonSequence; // ordered list of lessons
+    private LessonNavigator lessonNavigator; // index over lessonSequence, built on demand
     private String prerequisiteCourse; // required course before this one
 
     // Gamification
@@ -43,7 +45,7 @@ public class Course implements Serializable {
     public Course() {
         this.isActive = true;
         this.createdAt = System.currentTimeMillis();
-        this.updatedAt = System.currentTimeMillis();
+        this.updatedAt = createdAt;
         this.learningStreak = 0;
         this.lastAccessDate = 0;
         this.totalMinutesSpent = 0;
@@ -59,6 +61,7 @@ public class Course implements Serializable {
         this.title = title;
         this.description = description;
         this.category = category;
+        this.categoryType = CourseCategory.fromName(category);
         this.difficulty = difficulty;
         this.estimatedTime = estimatedTime;
     }
@@ -69,6 +72,7 @@ public class Course implements Serializable {
         this.title = title;
         this.description = description;
         this.category = category;
+        this.categoryType = CourseCategory.fromName(category);
         this.difficulty = difficulty;
         this.estimatedTime = estimatedTime;
         this.thumbnail = thumbnail;
@@ -105,8 +109,13 @@ public class Course implements Serializable {
         return category;
     }
 
+    public CourseCategory getCategoryType() {
+        return categoryType;
+    }
+
     public void setCategory(String category) {
         this.category = category;
+        this.categoryType = CourseCategory.fromName(category);
         this.updatedAt = System.currentTimeMillis();
     }
 
@@ -273,6 +282,7 @@ public class Course implements Serializable {
 
     public void setLessonSequence(List<String> lessonSequence) {
         this.lessonSequence = lessonSequence;
+        this.lessonNavigator = null;
         this.totalLessons = lessonSequence != null ? lessonSequence.size() : 0;
         this.updatedAt = System.currentTimeMillis();
     }
@@ -286,6 +296,44 @@ public class Course implements Serializable {
         this.updatedAt = System.currentTimeMillis();
     }
 
+    // ==================== GAMIFICATION METHODS ====================
+
+    public int getLearningStreak() {
+        return learningStreak;
+    }
+
+    public void setLearningStreak(int learningStreak) {
+        this.learningStreak = learningStreak;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    public long getLastAccessDate() {
+        return lastAccessDate;
+    }
+
+    public void setLastAccessDate(long lastAccessDate) {
+        this.lastAccessDate = lastAccessDate;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    public int getTotalMinutesSpent() {
+        return totalMinutesSpent;
+    }
+
+    public void setTotalMinutesSpent(int totalMinutesSpent) {
+        this.totalMinutesSpent = totalMinutesSpent;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    public int getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public void setExperiencePoints(int experiencePoints) {
+        this.experiencePoints = experiencePoints;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
     /**
      * Get progress percentage
      */
@@ -302,107 +350,64 @@ public class Course implements Serializable {
     }
 
     /**
-     * Mark current lesson as completed and move to next
+     * Get the lesson order as a navigator with O(1) lookups
+     * @return navigator, or null if the lesson sequence is not loaded
      */
-    public String completeCurrentLessonAndMoveToNext() {
-        if (lessonSequence == null || lessonSequence.isEmpty()) {
+    public LessonNavigator getLessonNavigator() {
+        if (lessonSequence == null) {
             return null;
         }
+        if (lessonNavigator == null) {
+            lessonNavigator = new LessonNavigator(lessonSequence);
+        }
+        return lessonNavigator;
+    }
 
-        // Find current lesson index
-        int currentIndex = -1;
-        if (currentLesson != null && !currentLesson.isEmpty()) {
-            for (int i = 0; i < lessonSequence.size(); i++) {
-                if (lessonSequence.get(i).equals(currentLesson)) {
-                    currentIndex = i;
-                    break;
-                }
-            }
+    /**
+     * Mark current lesson as completed and move to next
+     */
+    public String completeCurrentLessonAndMoveToNext() {
+        LessonNavigator navigator = getLessonNavigator();
+        if (navigator == null || navigator.isEmpty()) {
+            return null;
         }
 
         // Mark current lesson as completed if it exists
-        if (currentIndex >= 0 && currentIndex < lessonSequence.size()) {
+        int currentIndex = navigator.indexOf(currentLesson);
+        if (currentIndex >= 0) {
             completedLessons = Math.max(completedLessons, currentIndex + 1);
         }
 
         // Move to next lesson
-        int nextIndex = currentIndex + 1;
-        if (nextIndex < lessonSequence.size()) {
-            String nextLesson = lessonSequence.get(nextIndex);
+        String nextLesson = navigator.getLesson(currentIndex + 1);
+        if (nextLesson != null) {
             setCurrentLesson(nextLesson);
-            return nextLesson;
         }
-
-        return null; // No more lessons
+        return nextLesson;
     }
 
     /**
      * Get next lesson
      */
     public String getNextLesson() {
-        if (lessonSequence == null || lessonSequence.isEmpty()) {
-            return null;
-        }
-
-        if (currentLesson == null || currentLesson.isEmpty()) {
-            return lessonSequence.get(0); // First lesson
-        }
-
-        int currentIndex = -1;
-        for (int i = 0; i < lessonSequence.size(); i++) {
-            if (lessonSequence.get(i).equals(currentLesson)) {
-                currentIndex = i;
-                break;
-            }
-        }
-
-        if (currentIndex >= 0 && currentIndex < lessonSequence.size() - 1) {
-            return lessonSequence.get(currentIndex + 1);
-        }
-
-        return null; // No next lesson
+        LessonNavigator navigator = getLessonNavigator();
+        return navigator != null ? navigator.getNext(currentLesson) : null;
     }
 
     /**
      * Get previous lesson
      */
     public String getPreviousLesson() {
-        if (lessonSequence == null || lessonSequence.isEmpty() ||
-            currentLesson == null || currentLesson.isEmpty()) {
-            return null;
-        }
-
-        int currentIndex = -1;
-        for (int i = 0; i < lessonSequence.size(); i++) {
-            if (lessonSequence.get(i).equals(currentLesson)) {
-                currentIndex = i;
-                break;
-            }
-        }
-
-        if (currentIndex > 0) {
-            return lessonSequence.get(currentIndex - 1);
-        }
-
-        return null; // No previous lesson
+        LessonNavigator navigator = getLessonNavigator();
+        return navigator != null ? navigator.getPrevious(currentLesson) : null;
     }
 
     /**
      * Get current lesson index
      */
     public int getCurrentLessonIndex() {
-        if (lessonSequence == null || lessonSequence.isEmpty() ||
-            currentLesson == null || currentLesson.isEmpty()) {
-            return -1;
-        }
-
-        for (int i = 0; i < lessonSequence.size(); i++) {
-            if (lessonSequence.get(i).equals(currentLesson)) {
-                return i;
-            }
-        }
-
-        return -1;
+        LessonNavigator navigator = getLessonNavigator();
+        return navigator != null ? navigator.indexOf(currentLesson) : -1;
     }
 
     /**
@@ -0,0 +1,47 @@
+package com.codelearn.android.model;
+
+/**
+ * Course category as an enum, resolved once from the catalog name
+ * Filtering and grouping compare ordinals instead of category strings.
+ */
+public enum CourseCategory {
+    HTML("HTML"),
+    CSS("CSS"),
+    JAVASCRIPT("JavaScript"),
+    OTHER(null);
+
+    private final String categoryName;
+
+    CourseCategory(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    /**
+     * Name used in the manifest and the database
+     * @return category name, or null for OTHER
+     */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * Resolve a catalog category name
+     * @param categoryName e.g. "HTML"
+     * @return matching category, or OTHER for unknown or null names
+     */
+    public static CourseCategory fromName(String categoryName) {
+        if (categoryName == null) {
+            return OTHER;
+        }
+        switch (categoryName) {
+            case "HTML":
+                return HTML;
+            case "CSS":
+                return CSS;
+            case "JavaScript":
+                return JAVASCRIPT;
+            default:
+                return OTHER;
+        }
+    }
+}
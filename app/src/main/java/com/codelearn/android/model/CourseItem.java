@@ -0,0 +1,128 @@
+package com.codelearn.android.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable course row for lists
+ * Display strings are formatted once when the item is built, so binding a row allocates
+ * nothing, and a 64-bit hash of the shown fields lets DiffUtil compare contents with one long.
+ */
+public final class CourseItem {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int id;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final CourseCategory categoryType;
+    private final int difficulty;
+    private final String difficultyLevel;
+    private final String formattedTime;
+    private final String progressText;
+    private final long contentHash;
+
+    private CourseItem(Course course) {
+        this.id = course.getId();
+        this.title = course.getTitle() != null ? course.getTitle() : "";
+        this.description = course.getDescription() != null ? course.getDescription() : "";
+        this.category = course.getCategory() != null ? course.getCategory() : "";
+        this.categoryType = course.getCategoryType();
+        this.difficulty = course.getDifficulty();
+        this.difficultyLevel = course.getDifficultyLevel();
+        this.formattedTime = course.getFormattedTime();
+        this.progressText = course.getProgressText();
+
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, title);
+        hash = mix(hash, description);
+        hash = mix(hash, category);
+        hash = mix(hash, difficulty);
+        hash = mix(hash, formattedTime);
+        hash = mix(hash, progressText);
+        this.contentHash = hash;
+    }
+
+    /**
+     * Snapshot a course
+     * @param course catalog course
+     * @return item holding the current values
+     */
+    public static CourseItem from(Course course) {
+        return new CourseItem(course);
+    }
+
+    /**
+     * Snapshot a list of courses, keeping the order
+     */
+    public static List<CourseItem> fromAll(List<Course> courses) {
+        List<CourseItem> items = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            items.add(new CourseItem(course));
+        }
+        return items;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public CourseCategory getCategoryType() {
+        return categoryType;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public String getDifficultyLevel() {
+        return difficultyLevel;
+    }
+
+    public String getFormattedTime() {
+        return formattedTime;
+    }
+
+    public String getProgressText() {
+        return progressText;
+    }
+
+    /**
+     * FNV-1a hash over every displayed field; equal hashes mean the row looks the same
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        // Separator so "ab" + "c" and "a" + "bc" differ
+        return mix(hash, 0xFFFF);
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
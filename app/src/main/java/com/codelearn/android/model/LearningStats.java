@@ -0,0 +1,54 @@
+package com.codelearn.android.model;
+
+/**
+ * Immutable learning totals shown on the home screen
+ */
+public final class LearningStats {
+
+    public static final LearningStats EMPTY = new LearningStats(0, 0, 0, 0, 0, 0);
+
+    private final int activeCourses;
+    private final int completedLessons;
+    private final int experiencePoints;
+    private final long totalMinutesSpent;
+    private final int currentStreak;
+    private final int longestStreak;
+
+    public LearningStats(int activeCourses, int completedLessons, int experiencePoints,
+                         long totalMinutesSpent, int currentStreak, int longestStreak) {
+        this.activeCourses = activeCourses;
+        this.completedLessons = completedLessons;
+        this.experiencePoints = experiencePoints;
+        this.totalMinutesSpent = totalMinutesSpent;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+
+    // Getters
+    public int getActiveCourses() {
+        return activeCourses;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public int getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public long getTotalMinutesSpent() {
+        return totalMinutesSpent;
+    }
+
+    /**
+     * Consecutive active days up to today or yesterday, 0 once a day was missed
+     */
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+}
@@ -0,0 +1,84 @@
+package com.codelearn.android.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lesson order of a course with a precomputed lesson to index map
+ * Every lookup and next/previous step is O(1) instead of a scan of the lesson list.
+ */
+public final class LessonNavigator {
+
+    public static final int NOT_FOUND = -1;
+
+    private final String[] lessons;
+    private final Map<String, Integer> indexByLesson;
+
+    public LessonNavigator(List<String> lessonSequence) {
+        this.lessons = lessonSequence.toArray(new String[0]);
+        this.indexByLesson = new HashMap<>(lessons.length * 4 / 3 + 1);
+        for (int i = lessons.length - 1; i >= 0; i--) {
+            // Iterating backwards keeps the first position of a duplicate file name
+            indexByLesson.put(lessons[i], i);
+        }
+    }
+
+    /**
+     * Position of a lesson
+     * @param lesson lesson file name
+     * @return index, or NOT_FOUND
+     */
+    public int indexOf(String lesson) {
+        Integer index = lesson != null ? indexByLesson.get(lesson) : null;
+        return index != null ? index : NOT_FOUND;
+    }
+
+    /**
+     * Lesson at a position
+     * @param index lesson index
+     * @return lesson file name, or null if out of range
+     */
+    public String getLesson(int index) {
+        return index >= 0 && index < lessons.length ? lessons[index] : null;
+    }
+
+    /**
+     * Lesson after the given one
+     * @param lesson current lesson file name, or null/empty for "not started"
+     * @return next lesson, the first lesson if none was started, or null at the end
+     */
+    public String getNext(String lesson) {
+        if (lesson == null || lesson.isEmpty()) {
+            return getLesson(0);
+        }
+        int index = indexOf(lesson);
+        return index != NOT_FOUND ? getLesson(index + 1) : null;
+    }
+
+    /**
+     * Lesson before the given one
+     * @param lesson current lesson file name
+     * @return previous lesson, or null at the start or if the lesson is unknown
+     */
+    public String getPrevious(String lesson) {
+        int index = indexOf(lesson);
+        return index > 0 ? lessons[index - 1] : null;
+    }
+
+    public boolean hasNext(int index) {
+        return index >= 0 && index < lessons.length - 1;
+    }
+
+    public boolean hasPrevious(int index) {
+        return index > 0 && index < lessons.length;
+    }
+
+    public int size() {
+        return lessons.length;
+    }
+
+    public boolean isEmpty() {
+        return lessons.length == 0;
+    }
+}
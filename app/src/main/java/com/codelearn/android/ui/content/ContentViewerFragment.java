@@ -4,6 +4,8 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 import android.widget.Toast;
@@ -12,14 +14,20 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.content.LessonAssetReader;
+import com.codelearn.android.data.content.LessonPrefetcher;
+import com.codelearn.android.data.progress.ProgressStore;
+import com.codelearn.android.data.progress.ReadingSessionTracker;
+import com.codelearn.android.data.progress.ResumePointStore;
+import com.codelearn.android.data.search.TextTokenizer;
 import com.codelearn.android.databinding.FragmentContentViewerBinding;
 import com.codelearn.android.model.Course;
+import com.codelearn.android.model.LessonNavigator;
+import com.codelearn.android.utils.AppExecutors;
 import com.codelearn.android.utils.Constants;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.List;
 
 /**
  * Fragment for displaying offline learning content
@@ -27,18 +35,35 @@ import java.io.InputStreamReader;
  */
 public class ContentViewerFragment extends Fragment {
 
+    private static final int RESTORE_SCROLL_ATTEMPTS = 20;
+    private static final long RESTORE_SCROLL_RETRY_MS = 50;
+
     private FragmentContentViewerBinding binding;
+    private int courseId;
     private Course course;
     private String currentLesson;
+    private int anchorSection;
+    private String highlightQuery;
+    private LessonNavigator lessonNavigator;
+    private int currentIndex = LessonNavigator.NOT_FOUND;
+    private final LessonPrefetcher lessonPrefetcher = LessonPrefetcher.getInstance();
+    private final ProgressStore progressStore = ProgressStore.getInstance();
+    private ReadingSessionTracker readingTracker;
+    private final ResumePointStore resumePoints = ResumePointStore.getInstance();
+    private int restoreScrollY;
+    private float density;
+    private LessonAssetInterceptor assetInterceptor;
+    private WebView webView;
 
     public ContentViewerFragment() {
         // Required empty constructor
     }
 
-    public static ContentViewerFragment newInstance(Course course) {
+    public static ContentViewerFragment newInstance(int courseId, @Nullable String lesson) {
         ContentViewerFragment fragment = new ContentViewerFragment();
         Bundle args = new Bundle();
-        args.putSerializable("course", course);
+        args.putInt(Constants.ARG_COURSE_ID, courseId);
+        args.putString(Constants.ARG_LESSON_ID, lesson);
         fragment.setArguments(args);
         return fragment;
     }
@@ -47,9 +72,20 @@ public class ContentViewerFragment extends Fragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         if (getArguments() != null) {
-            course = (Course) getArguments().getSerializable("course");
-            currentLesson = getArguments().getString("contentPath", course != null ? course.getFirstLessonAsset() : "01_pengenalan.html");
+            courseId = getArguments().getInt(Constants.ARG_COURSE_ID);
+            currentLesson = getArguments().getString(Constants.ARG_LESSON_ID);
+            anchorSection = getArguments().getInt(Constants.ARG_ANCHOR_SECTION, 0);
+            highlightQuery = getArguments().getString(Constants.ARG_HIGHLIGHT_QUERY);
+            restoreScrollY = getArguments().getInt(Constants.ARG_SCROLL_Y, 0);
+        }
+        if (savedInstanceState != null) {
+            // The lesson the user moved on to, not the one the viewer was opened with
+            currentLesson = savedInstanceState.getString(Constants.ARG_LESSON_ID, currentLesson);
+            restoreScrollY = savedInstanceState.getInt(Constants.ARG_SCROLL_Y, 0);
+            anchorSection = 0;
         }
+        // Null only when the process was recreated before the catalog was loaded again
+        course = CourseRepository.getInstance().getCourseById(courseId);
     }
 
     @Nullable
@@ -63,27 +99,99 @@ public class ContentViewerFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         setupWebView();
-        loadContent();
         setupNavigation();
+        if (course != null) {
+            onCourseReady();
+        } else {
+            resolveCourse();
+        }
+    }
+
+    /**
+     * Load the catalog, e.g. after process death, and look the course up again
+     */
+    private void resolveCourse() {
+        binding.progressBar.setVisibility(View.VISIBLE);
+        CourseRepository.getInstance().getCourses(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    if (binding == null) {
+                        return;
+                    }
+                    course = CourseRepository.getInstance().getCourseById(courseId);
+                    if (course != null) {
+                        onCourseReady();
+                    } else {
+                        binding.progressBar.setVisibility(View.GONE);
+                        showError("Kursus tidak ditemukan");
+                    }
+                });
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    if (binding != null) {
+                        binding.progressBar.setVisibility(View.GONE);
+                        showError("Gagal memuat kursus");
+                    }
+                });
+            }
+        });
+    }
+
+    private void onCourseReady() {
+        if (currentLesson == null) {
+            currentLesson = course.getFirstLessonAsset();
+        }
+        if (readingTracker == null) {
+            readingTracker = new ReadingSessionTracker(course.getId());
+            if (isResumed()) {
+                // Resolved after onResume() already ran
+                readingTracker.onResume();
+            }
+        }
+        attachScrollTracking();
+        loadContent();
+        loadLessonSequence();
+        updateLessonNavigation();
     }
 
     private void setupWebView() {
-        // Configure WebView settings
-        binding.webView.getSettings().setJavaScriptEnabled(true);
-        binding.webView.getSettings().setDomStorageEnabled(true);
-        binding.webView.getSettings().setAllowFileAccess(true);
-        binding.webView.getSettings().setAllowContentAccess(true);
+        assetInterceptor = new LessonAssetInterceptor(LessonAssetReader.getInstance());
+
+        // Settings are applied once by the pool
+        webView = WebViewPool.getInstance().acquire(requireActivity());
+        binding.webViewContainer.addView(webView);
 
-        // Enable zoom controls
-        binding.webView.getSettings().setBuiltInZoomControls(true);
-        binding.webView.getSettings().setDisplayZoomControls(false);
+        // getContentHeight() and saved scroll offsets are in CSS pixels; lessons are not zoomable,
+        // so density is the scale
+        density = getResources().getDisplayMetrics().density;
 
         // Set WebViewClient to handle page loading
-        binding.webView.setWebViewClient(new WebViewClient() {
+        webView.setWebViewClient(new WebViewClient() {
+            @Override
+            public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+                WebResourceResponse response = assetInterceptor.intercept(request);
+                return response != null ? response : super.shouldInterceptRequest(view, request);
+            }
+
             @Override
             public void onPageFinished(WebView view, String url) {
                 super.onPageFinished(view, url);
                 binding.progressBar.setVisibility(View.GONE);
+                syncCurrentLesson(url);
+                // onPageFinished does not mean laid out; wait until the next frame is drawn
+                view.postVisualStateCallback(0, new WebView.VisualStateCallback() {
+                    @Override
+                    public void onComplete(long requestId) {
+                        // A lesson shorter than the screen never scrolls, so measure it once here
+                        reportScrollDepth(view);
+                        restoreScrollPosition(view, RESTORE_SCROLL_ATTEMPTS);
+                    }
+                });
+                applySearchTarget(view);
             }
 
             @Override
@@ -95,49 +203,183 @@ public class ContentViewerFragment extends Fragment {
         });
     }
 
+    /**
+     * Scroll offset in CSS pixels, or the offset still waiting to be restored
+     */
+    private int currentScrollY() {
+        return restoreScrollY > 0 ? restoreScrollY : Math.round(webView.getScrollY() / density);
+    }
+
+    private void attachScrollTracking() {
+        webView.setOnScrollChangeListener((v, scrollX, scrollY, oldScrollX, oldScrollY) ->
+                reportScrollDepth((WebView) v));
+    }
+
+    private void reportScrollDepth(WebView view) {
+        if (readingTracker != null && view == webView) {
+            readingTracker.onScrolled(view.getScrollY(), view.getHeight(),
+                    (int) (view.getContentHeight() * density));
+        }
+    }
+
+    /**
+     * Jump to the saved offset of a resumed lesson. The content height can still be short of
+     * the offset right after loading, which would clamp the scroll, so this retries until the
+     * page is tall enough and only then drops the pending offset.
+     */
+    private void restoreScrollPosition(WebView view, int attemptsLeft) {
+        if (restoreScrollY <= 0 || view != webView) {
+            return;
+        }
+
+        int target = Math.round(restoreScrollY * density);
+        int maxScroll = Math.round(view.getContentHeight() * density) - view.getHeight();
+        if (maxScroll < target && attemptsLeft > 0) {
+            view.postDelayed(() -> restoreScrollPosition(view, attemptsLeft - 1), RESTORE_SCROLL_RETRY_MS);
+            return;
+        }
+
+        // Out of attempts the page really is shorter, e.g. after a content update
+        view.scrollTo(0, Math.min(target, Math.max(0, maxScroll)));
+        restoreScrollY = 0;
+    }
+
+    /**
+     * Keep the lesson position in step with the page, e.g. after WebView back navigation
+     */
+    private void syncCurrentLesson(String url) {
+        if (lessonNavigator == null || url == null) {
+            return;
+        }
+
+        String lesson = url.substring(url.lastIndexOf('/') + 1);
+        int index = lessonNavigator.indexOf(lesson);
+        if (index != LessonNavigator.NOT_FOUND && index != currentIndex) {
+            currentIndex = index;
+            currentLesson = lesson;
+            progressStore.onLessonOpened(course.getId(), lesson);
+            readingTracker.startLesson(lesson, index);
+            resumePoints.update(course.getId(), lesson, 0);
+            updateLessonNavigation();
+            prefetchNeighbours();
+        }
+    }
+
+    /**
+     * Scroll to the section and highlight the query of a lesson search hit.
+     * Applied once, so later navigation within the viewer starts at the top.
+     */
+    private void applySearchTarget(WebView view) {
+        if (anchorSection > 0) {
+            // Sections are indexed by h1/h2, section n starts at the n-th heading
+            view.evaluateJavascript("(function(){var h=document.querySelectorAll('h1, h2')["
+                    + (anchorSection - 1) + "];if(h){h.scrollIntoView();}})();", null);
+        }
+
+        String term = longestTerm(highlightQuery);
+        if (term != null) {
+            view.findAllAsync(term);
+        }
+
+        anchorSection = 0;
+        highlightQuery = null;
+    }
+
+    private static String longestTerm(String query) {
+        if (query == null) {
+            return null;
+        }
+
+        String longest = null;
+        for (String term : TextTokenizer.tokenize(query)) {
+            if (longest == null || term.length() > longest.length()) {
+                longest = term;
+            }
+        }
+        return longest;
+    }
+
     private void loadContent() {
         if (course == null || !course.hasOfflineContent()) {
             showError("Konten offline tidak tersedia untuk kursus ini");
             return;
         }
 
+        String assetPath = course.getOfflineAssetPath(currentLesson);
+        if (assetPath == null) {
+            return;
+        }
+
         binding.progressBar.setVisibility(View.VISIBLE);
 
-        try {
-            // Load HTML content from assets
-            String assetPath = course.getOfflineAssetPath(currentLesson);
-            if (assetPath != null) {
-                String htmlContent = loadHtmlFromAssets(assetPath);
-                if (htmlContent != null) {
-                    // Load HTML with base URL for relative paths
-                    binding.webView.loadDataWithBaseURL("file:///android_asset/", htmlContent, "text/html", "UTF-8", null);
-                } else {
-                    showError("File konten tidak ditemukan: " + assetPath);
-                }
-            }
-        } catch (Exception e) {
-            showError("Error memuat konten: " + e.getMessage());
-        }
+        // Streamed by the asset interceptor; relative links resolve against the same origin
+        webView.loadUrl(LessonAssetInterceptor.urlFor(assetPath));
+        progressStore.onLessonOpened(course.getId(), currentLesson);
+        readingTracker.startLesson(currentLesson, currentIndex);
+        resumePoints.update(course.getId(), currentLesson, restoreScrollY);
+
+        prefetchNeighbours();
     }
 
-    private String loadHtmlFromAssets(String fileName) {
-        try {
-            InputStream inputStream = requireContext().getAssets().open(fileName);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-            StringBuilder stringBuilder = new StringBuilder();
-            String line;
+    /**
+     * Load the lesson order once; it drives next/previous and neighbour prefetching
+     */
+    private void loadLessonSequence() {
+        if (course == null) {
+            return;
+        }
+
+        LessonNavigator navigator = course.getLessonNavigator();
+        if (navigator != null) {
+            onLessonNavigatorReady(navigator);
+            return;
+        }
 
-            while ((line = reader.readLine()) != null) {
-                stringBuilder.append(line).append("\n");
+        CourseRepository.getInstance().getLessonSequence(course.getId(), new CourseRepository.LoadLessonsCallback() {
+            @Override
+            public void onLessonsLoaded(List<String> sequence) {
+                // Index built off the main thread
+                LessonNavigator loaded = new LessonNavigator(sequence);
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    if (binding != null) {
+                        onLessonNavigatorReady(loaded);
+                    }
+                });
             }
 
-            reader.close();
-            inputStream.close();
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                // Navigation stays disabled
+            }
+        });
+    }
 
-            return stringBuilder.toString();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+    private void onLessonNavigatorReady(LessonNavigator navigator) {
+        lessonNavigator = navigator;
+        currentIndex = navigator.indexOf(currentLesson);
+        if (readingTracker != null) {
+            readingTracker.setLessonIndex(currentIndex);
+        }
+        updateLessonNavigation();
+        prefetchNeighbours();
+    }
+
+    /**
+     * Page in the lessons before and after the current one
+     */
+    private void prefetchNeighbours() {
+        LessonNavigator navigator = lessonNavigator;
+        if (navigator == null || course == null || currentIndex == LessonNavigator.NOT_FOUND) {
+            return;
+        }
+
+        String next = navigator.getLesson(currentIndex + 1);
+        if (next != null) {
+            lessonPrefetcher.prefetch(course.getOfflineAssetPath(next));
+        }
+        String previous = navigator.getLesson(currentIndex - 1);
+        if (previous != null) {
+            lessonPrefetcher.prefetch(course.getOfflineAssetPath(previous));
         }
     }
 
@@ -162,46 +404,31 @@ public class ContentViewerFragment extends Fragment {
     }
 
     private void navigateToLesson(int direction) {
-        if (course == null || course.getLessonFiles() == null) {
+        LessonNavigator navigator = lessonNavigator;
+        if (navigator == null || currentIndex == LessonNavigator.NOT_FOUND) {
             return;
         }
 
-        // Simple lesson navigation based on current lesson number
-        try {
-            int currentLessonNumber = Integer.parseInt(currentLesson.replaceAll("[^0-9]", ""));
-            int newLessonNumber = currentLessonNumber + direction;
+        String lesson = navigator.getLesson(currentIndex + direction);
+        if (lesson == null) {
+            return;
+        }
 
-            if (newLessonNumber >= 1 && newLessonNumber <= course.getLessonFiles().size()) {
-                currentLesson = "lesson" + newLessonNumber + ".html";
-                loadContent();
-                updateLessonNavigation();
-            }
-        } catch (NumberFormatException e) {
-            // Fallback - try to find next lesson
-            Toast.makeText(getContext(), "Navigasi lesson tidak tersedia", Toast.LENGTH_SHORT).show();
+        if (direction > 0) {
+            // Moving on counts the lesson being left as finished
+            progressStore.onLessonCompleted(course.getId(), currentIndex);
         }
+        currentIndex += direction;
+        currentLesson = lesson;
+        restoreScrollY = 0;
+        loadContent();
+        updateLessonNavigation();
     }
 
     private void updateLessonNavigation() {
-        if (course == null || course.getLessonFiles() == null) {
-            binding.buttonPrevious.setEnabled(false);
-            binding.buttonNext.setEnabled(false);
-            return;
-        }
-
-        try {
-            int currentLessonNumber = Integer.parseInt(currentLesson.replaceAll("[^0-9]", ""));
-
-            // Update previous button
-            binding.buttonPrevious.setEnabled(currentLessonNumber > 1);
-
-            // Update next button
-            binding.buttonNext.setEnabled(currentLessonNumber < course.getLessonFiles().size());
-
-        } catch (NumberFormatException e) {
-            binding.buttonPrevious.setEnabled(false);
-            binding.buttonNext.setEnabled(false);
-        }
+        // Disabled until the lesson order is loaded
+        binding.buttonPrevious.setEnabled(lessonNavigator != null && lessonNavigator.hasPrevious(currentIndex));
+        binding.buttonNext.setEnabled(lessonNavigator != null && lessonNavigator.hasNext(currentIndex));
 
         // Update title
         if (course != null) {
@@ -215,19 +442,44 @@ public class ContentViewerFragment extends Fragment {
         }
     }
 
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (readingTracker != null) {
+            readingTracker.onResume();
+        }
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        if (readingTracker != null) {
+            readingTracker.onPause();
+        }
+        if (course != null && webView != null && currentLesson != null) {
+            resumePoints.update(course.getId(), currentLesson, currentScrollY());
+        }
+        // Commit before the process can be killed in the background
+        progressStore.flush();
+    }
+
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        // Ids only, the course itself is looked up again
+        outState.putString(Constants.ARG_LESSON_ID, currentLesson);
+        if (webView != null && density > 0) {
+            outState.putInt(Constants.ARG_SCROLL_Y, currentScrollY());
+        }
+    }
+
     @Override
     public void onDestroyView() {
         super.onDestroyView();
-        // Clean up WebView to prevent memory leaks
-        if (binding.webView != null) {
-            binding.webView.stopLoading();
-            binding.webView.clearHistory();
-            binding.webView.clearCache(true);
-            binding.webView.loadUrl("about:blank");
-            binding.webView.onPause();
-            binding.webView.removeAllViews();
-            binding.webView.destroyDrawingCache();
-            binding.webView.destroy();
+        // Hand the WebView back to the pool instead of destroying it
+        if (webView != null) {
+            WebViewPool.getInstance().release(webView);
+            webView = null;
         }
         binding = null;
     }
@@ -236,8 +488,8 @@ public class ContentViewerFragment extends Fragment {
      * Handle back press for WebView navigation
      */
     public boolean onBackPressed() {
-        if (binding.webView != null && binding.webView.canGoBack()) {
-            binding.webView.goBack();
+        if (webView != null && webView.canGoBack()) {
+            webView.goBack();
             return true;
         }
         return false;
@@ -0,0 +1,106 @@
+package com.codelearn.android.ui.content;
+
+import android.net.Uri;
+import android.util.Log;
+import android.webkit.MimeTypeMap;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.codelearn.android.data.content.LessonAssetReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+/**
+ * Serves bundled assets to the WebView from a virtual https origin
+ *
+ * Requests to https://appassets.androidplatform.net/assets/&lt;path&gt; are answered with a stream
+ * over the memory-mapped content pack, or from the packaged assets for files outside the pack.
+ * No String copy of the lesson is made and the WebView starts parsing as soon as the first bytes arrive.
+ */
+public class LessonAssetInterceptor {
+
+    private static final String TAG = "LessonAssetInterceptor";
+
+    public static final String ASSET_HOST = "appassets.androidplatform.net";
+    private static final String ASSET_PREFIX = "/assets/";
+    private static final String ORIGIN = "https://" + ASSET_HOST + ASSET_PREFIX;
+
+    private final LessonAssetReader assetReader;
+
+    public LessonAssetInterceptor(@NonNull LessonAssetReader assetReader) {
+        this.assetReader = assetReader;
+    }
+
+    /**
+     * Build the virtual URL of an asset
+     * @param assetPath path relative to the assets folder
+     * @return https URL handled by this interceptor
+     */
+    public static String urlFor(@NonNull String assetPath) {
+        return ORIGIN + assetPath;
+    }
+
+    /**
+     * Answer a WebView request. Called on a WebView background thread.
+     * @param request request from WebViewClient.shouldInterceptRequest
+     * @return asset response, or null to let the WebView handle the request itself
+     */
+    @WorkerThread
+    @Nullable
+    public WebResourceResponse intercept(@NonNull WebResourceRequest request) {
+        Uri url = request.getUrl();
+        if (!"https".equals(url.getScheme()) || !ASSET_HOST.equals(url.getHost())) {
+            return null;
+        }
+
+        String path = url.getPath();
+        if (path == null || !path.startsWith(ASSET_PREFIX) || path.contains("..")) {
+            return notFound();
+        }
+
+        String assetPath = path.substring(ASSET_PREFIX.length());
+        String mimeType = guessMimeType(assetPath);
+        String encoding = mimeType.startsWith("text/") || mimeType.endsWith("javascript") ? "UTF-8" : null;
+
+        InputStream data;
+        try {
+            // The WebView reads and closes the stream itself
+            data = assetReader.open(assetPath);
+        } catch (IOException e) {
+            Log.w(TAG, "Asset not found: " + assetPath);
+            return notFound();
+        }
+        return new WebResourceResponse(mimeType, encoding, data);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static String guessMimeType(String assetPath) {
+        int dot = assetPath.lastIndexOf('.');
+        String extension = dot >= 0 ? assetPath.substring(dot + 1).toLowerCase() : "";
+        switch (extension) {
+            case "html":
+            case "htm":
+                return "text/html";
+            case "css":
+                return "text/css";
+            case "js":
+                return "application/javascript";
+            default:
+                String mimeType = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension);
+                return mimeType != null ? mimeType : "application/octet-stream";
+        }
+    }
+
+    private static WebResourceResponse notFound() {
+        return new WebResourceResponse("text/plain", "UTF-8", 404, "Not Found",
+                Collections.emptyMap(), new ByteArrayInputStream(new byte[0]));
+    }
+}
@@ -0,0 +1,224 @@
+package com.codelearn.android.ui.content;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Bundle;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.webkit.WebSettings;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+
+/**
+ * Process-wide pool of lesson WebViews
+ *
+ * Creating the first WebView loads Chromium, which costs hundreds of milliseconds. The pool
+ * creates one while the main thread is idle after the first activity drew its first frame,
+ * and hands instances back and forth
+ * between ContentViewerFragment instances, resetting them instead of destroying them.
+ * All methods must be called on the main thread.
+ */
+public class WebViewPool {
+
+    private static final int MAX_IDLE = 2;
+
+    private final ArrayDeque<WebView> idle = new ArrayDeque<>();
+    private Context applicationContext;
+
+    private WebViewPool() {
+    }
+
+    /**
+     * Returns the process-wide pool instance
+     * @return singleton WebViewPool instance
+     */
+    public static WebViewPool getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Pre-warm once the first activity has drawn its first frame
+     * Called from Application.onCreate, where an idle handler would still run before that frame.
+     * @param application the application, used to watch for the first activity
+     */
+    @MainThread
+    public void prewarmAfterFirstFrame(@NonNull Application application) {
+        applicationContext = application;
+        application.registerActivityLifecycleCallbacks(new FirstFrameCallbacks(application));
+    }
+
+    /**
+     * Create one WebView once the main thread is idle
+     * @param context any context, only the application context is kept
+     */
+    @MainThread
+    public void prewarm(@NonNull Context context) {
+        applicationContext = context.getApplicationContext();
+        Looper.myQueue().addIdleHandler(() -> {
+            if (idle.isEmpty()) {
+                idle.push(create());
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Take a WebView from the pool, creating one if the pool is empty
+     * @param context context of the hosting activity
+     * @return configured WebView, detached from any parent
+     */
+    @MainThread
+    @NonNull
+    public WebView acquire(@NonNull Context context) {
+        if (applicationContext == null) {
+            applicationContext = context.getApplicationContext();
+        }
+
+        WebView webView = idle.poll();
+        if (webView == null) {
+            webView = create();
+        } else {
+            // The about:blank load from release() has committed by now
+            webView.clearHistory();
+        }
+
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+        webView.onResume();
+        return webView;
+    }
+
+    /**
+     * Return a WebView to the pool. It is reset rather than destroyed unless the pool is full.
+     * @param webView WebView obtained from acquire()
+     */
+    @MainThread
+    public void release(@NonNull WebView webView) {
+        if (webView.getParent() instanceof ViewGroup) {
+            ((ViewGroup) webView.getParent()).removeView(webView);
+        }
+
+        webView.stopLoading();
+        webView.setWebViewClient(new WebViewClient());
+        webView.setOnScrollChangeListener(null);
+        webView.clearMatches();
+        webView.scrollTo(0, 0);
+        webView.loadUrl("about:blank");
+        webView.onPause();
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(applicationContext);
+
+        if (idle.size() < MAX_IDLE) {
+            idle.push(webView);
+        } else {
+            webView.destroy();
+        }
+    }
+
+    /**
+     * Destroy idle WebViews, e.g. when the system is low on memory
+     */
+    @MainThread
+    public void clear() {
+        WebView webView;
+        while ((webView = idle.poll()) != null) {
+            webView.destroy();
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private WebView create() {
+        // Wrapped so a pooled WebView never keeps a finished activity alive
+        WebView webView = new WebView(new MutableContextWrapper(applicationContext));
+        webView.setLayoutParams(new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+
+        WebSettings settings = webView.getSettings();
+        settings.setJavaScriptEnabled(true);
+        settings.setDomStorageEnabled(true);
+        // Assets are served from a virtual https origin, no file:// access needed
+        settings.setAllowFileAccess(false);
+        settings.setAllowContentAccess(false);
+
+        // Enable zoom controls
+        settings.setBuiltInZoomControls(true);
+        settings.setDisplayZoomControls(false);
+        return webView;
+    }
+
+    /**
+     * Waits for the first activity's first draw, then schedules the idle pre-warm
+     */
+    private class FirstFrameCallbacks implements Application.ActivityLifecycleCallbacks {
+
+        private final Application application;
+
+        FirstFrameCallbacks(Application application) {
+            this.application = application;
+        }
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            application.unregisterActivityLifecycleCallbacks(this);
+
+            View decorView = activity.getWindow().getDecorView();
+            decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+                private boolean drawn;
+
+                @Override
+                public void onDraw() {
+                    if (drawn) {
+                        return;
+                    }
+                    drawn = true;
+                    // Draw listeners cannot be removed while they are dispatched; the post also
+                    // lands after the frame is handed to the render thread
+                    decorView.post(() -> {
+                        decorView.getViewTreeObserver().removeOnDrawListener(this);
+                        prewarm(application);
+                    });
+                }
+            });
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+        }
+    }
+
+    /**
+     * Singleton instance holder
+     */
+    private static class InstanceHolder {
+        private static final WebViewPool INSTANCE = new WebViewPool();
+    }
+}
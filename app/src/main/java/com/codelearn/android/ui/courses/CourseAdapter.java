@@ -2,42 +2,41 @@ package com.codelearn.android.ui.courses;
 
 import androidx.recyclerview.widget.RecyclerView;
 
-import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 
 import com.bumptech.glide.Glide;
 import com.codelearn.android.R;
 import com.codelearn.android.databinding.ItemCourseBinding;
-import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.utils.DiffConfigs;
 
-import java.util.ArrayList;
-import java.util.List;
+import kotlinx.coroutines.Dispatchers;
 
 /**
  * RecyclerView adapter for course list
+ * Fed page by page; rows of pages that are not loaded yet are bound as placeholders.
  */
-public class CourseAdapter extends ListAdapter<Course, CourseAdapter.CourseViewHolder> {
+public class CourseAdapter extends PagingDataAdapter<CourseItem, CourseAdapter.CourseViewHolder> {
 
     private OnItemClickListener onItemClickListener;
     private OnItemLongClickListener onItemLongClickListener;
-    private List<Course> courses = new ArrayList<>();
 
     public interface OnItemClickListener {
-        void onItemClick(Course course, int position);
+        void onItemClick(CourseItem course, int position);
     }
 
     public interface OnItemLongClickListener {
-        void onItemLongClick(Course course, int position);
+        void onItemLongClick(CourseItem course, int position);
     }
 
     public CourseAdapter() {
-        super(new DiffUtilCallback());
+        super(new DiffUtilCallback(), Dispatchers.getMain(), DiffConfigs.workerDispatcher());
     }
 
     public void setOnItemClickListener(OnItemClickListener listener) {
@@ -58,14 +57,12 @@ public class CourseAdapter extends ListAdapter<Course, CourseAdapter.CourseViewH
 
     @Override
     public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
-        Course course = getItem(position);
-        holder.bind(course);
-    }
-
-    @SuppressLint("NotifyDataSetChanged")
-    public void submitList(List<Course> list) {
-        this.courses = list != null ? list : new ArrayList<>();
-        super.submitList(this.courses);
+        CourseItem course = getItem(position);
+        if (course != null) {
+            holder.bind(course);
+        } else {
+            holder.bindPlaceholder();
+        }
     }
 
     class CourseViewHolder extends RecyclerView.ViewHolder {
@@ -76,7 +73,7 @@ public class CourseAdapter extends ListAdapter<Course, CourseAdapter.CourseViewH
             this.binding = binding;
         }
 
-        public void bind(Course course) {
+        public void bind(CourseItem course) {
             // Set course title and description
             binding.textCourseTitle.setText(course.getTitle());
             binding.textCourseDescription.setText(course.getDescription());
@@ -108,6 +105,18 @@ public class CourseAdapter extends ListAdapter<Course, CourseAdapter.CourseViewH
             });
         }
 
+        /**
+         * Empty row while its page loads
+         */
+        public void bindPlaceholder() {
+            binding.textCourseTitle.setText(null);
+            binding.textCourseDescription.setText(null);
+            binding.textCategory.setText(null);
+            binding.textEstimatedTime.setText(null);
+            binding.getRoot().setOnClickListener(null);
+            binding.buttonEnroll.setOnClickListener(null);
+        }
+
         private int getCategoryIcon(String category) {
             // Use same icon for all categories for now
             // You can create specific icons for each category later
@@ -115,19 +124,15 @@ public class CourseAdapter extends ListAdapter<Course, CourseAdapter.CourseViewH
         }
     }
 
-    private static class DiffUtilCallback extends DiffUtil.ItemCallback<Course> {
+    private static class DiffUtilCallback extends DiffUtil.ItemCallback<CourseItem> {
         @Override
-        public boolean areItemsTheSame(@NonNull Course oldItem, @NonNull Course newItem) {
+        public boolean areItemsTheSame(@NonNull CourseItem oldItem, @NonNull CourseItem newItem) {
             return oldItem.getId() == newItem.getId();
         }
 
         @Override
-        public boolean areContentsTheSame(@NonNull Course oldItem, @NonNull Course newItem) {
-            return oldItem.getTitle().equals(newItem.getTitle()) &&
-                    oldItem.getDescription().equals(newItem.getDescription()) &&
-                    oldItem.getCategory().equals(newItem.getCategory()) &&
-                    oldItem.getDifficulty() == newItem.getDifficulty() &&
-                    oldItem.getEstimatedTime() == newItem.getEstimatedTime();
+        public boolean areContentsTheSame(@NonNull CourseItem oldItem, @NonNull CourseItem newItem) {
+            return oldItem.getContentHash() == newItem.getContentHash();
         }
     }
 }
\ No newline at end of file
@@ -2,22 +2,32 @@ package com.codelearn.android.ui.courses;
 
 import android.os.Bundle;
 import android.view.LayoutInflater;
+import android.view.Menu;
+import android.view.MenuInflater;
+import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.widget.SearchView;
+import androidx.core.view.MenuProvider;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.codelearn.android.R;
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.database.LessonSearchHit;
 import com.codelearn.android.databinding.FragmentCourseListBinding;
 import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseItem;
 import com.codelearn.android.ui.content.ContentViewerFragment;
+import com.codelearn.android.utils.Constants;
 
 import java.util.List;
 
@@ -30,6 +40,8 @@ public class CourseListFragment extends Fragment {
     private FragmentCourseListBinding binding;
     private CourseListViewModel viewModel;
     private CourseAdapter courseAdapter;
+    private LessonSearchAdapter lessonSearchAdapter;
+    private String lastQuery;
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -50,6 +62,7 @@ public class CourseListFragment extends Fragment {
         initializeViewModel();
         observeViewModel();
         setupFilterButtons();
+        setupSearchMenu();
     }
 
     private void initializeViews() {
@@ -59,9 +72,15 @@ public class CourseListFragment extends Fragment {
         binding.recyclerViewCourses.setAdapter(courseAdapter);
 
         // Setup course click listener
-        courseAdapter.setOnItemClickListener((course, position) -> {
-            navigateToContentViewer(course);
+        courseAdapter.setOnItemClickListener((item, position) -> {
+            navigateToContentViewer(item);
         });
+
+        // Setup lesson search results
+        lessonSearchAdapter = new LessonSearchAdapter();
+        binding.recyclerViewLessonResults.setLayoutManager(new LinearLayoutManager(getContext()));
+        binding.recyclerViewLessonResults.setAdapter(lessonSearchAdapter);
+        lessonSearchAdapter.setOnItemClickListener(this::navigateToLessonHit);
     }
 
     private void initializeViewModel() {
@@ -70,16 +89,23 @@ public class CourseListFragment extends Fragment {
     }
 
     private void observeViewModel() {
-        // Observe courses
-        viewModel.getCourses().observe(getViewLifecycleOwner(), courses -> {
+        // Observe courses, delivered page by page
+        viewModel.getCourses().observe(getViewLifecycleOwner(), pagingData ->
+                courseAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
+
+        // The result size decides between the list and the empty state
+        viewModel.getResultCount().observe(getViewLifecycleOwner(), count -> {
             hideLoading();
-            if (courses != null && !courses.isEmpty()) {
-                showCourses(courses);
+            if (count != null && count > 0) {
+                showCourses();
             } else {
                 showNoResults();
             }
         });
 
+        // Observe lesson search hits
+        viewModel.getLessonResults().observe(getViewLifecycleOwner(), this::showLessonResults);
+
         // Observe loading state
         viewModel.getLoadingState().observe(getViewLifecycleOwner(), isLoading -> {
             if (isLoading) {
@@ -123,6 +149,42 @@ public class CourseListFragment extends Fragment {
         updateFilterButtonState(CourseListViewModel.FilterType.ALL);
     }
 
+    private void setupSearchMenu() {
+        requireActivity().addMenuProvider(new MenuProvider() {
+            @Override
+            public void onCreateMenu(@NonNull Menu menu, @NonNull MenuInflater menuInflater) {
+                menuInflater.inflate(R.menu.menu_course_search, menu);
+
+                SearchView searchView = (SearchView) menu.findItem(R.id.action_search).getActionView();
+                if (searchView == null) return;
+
+                searchView.setQueryHint("Cari kursus atau materi");
+                searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+                    @Override
+                    public boolean onQueryTextSubmit(String query) {
+                        lastQuery = query;
+                        viewModel.searchCourses(query);
+                        searchView.clearFocus();
+                        return true;
+                    }
+
+                    @Override
+                    public boolean onQueryTextChange(String newText) {
+                        // Debounced in the ViewModel, safe to call on every keystroke
+                        lastQuery = newText;
+                        viewModel.searchCourses(newText);
+                        return true;
+                    }
+                });
+            }
+
+            @Override
+            public boolean onMenuItemSelected(@NonNull MenuItem menuItem) {
+                return false;
+            }
+        }, getViewLifecycleOwner(), Lifecycle.State.RESUMED);
+    }
+
     private void updateFilterButtonState(CourseListViewModel.FilterType filterType) {
         // Reset all buttons to outlined style
         binding.buttonFilterAll.setElevation(0);
@@ -157,10 +219,16 @@ public class CourseListFragment extends Fragment {
         binding.layoutLoading.setVisibility(View.GONE);
     }
 
-    private void showCourses(List<Course> courses) {
+    private void showCourses() {
         binding.recyclerViewCourses.setVisibility(View.VISIBLE);
         binding.layoutNoResults.setVisibility(View.GONE);
-        courseAdapter.submitList(courses);
+    }
+
+    private void showLessonResults(List<LessonSearchHit> hits) {
+        boolean hasHits = hits != null && !hits.isEmpty();
+        binding.textLessonResultsHeader.setVisibility(hasHits ? View.VISIBLE : View.GONE);
+        binding.recyclerViewLessonResults.setVisibility(hasHits ? View.VISIBLE : View.GONE);
+        lessonSearchAdapter.submitList(hits);
     }
 
     private void showNoResults() {
@@ -174,14 +242,15 @@ public class CourseListFragment extends Fragment {
         }
     }
 
-    private void navigateToContentViewer(Course course) {
+    private void navigateToContentViewer(CourseItem item) {
         NavController navController = Navigation.findNavController(requireView());
+        Course course = CourseRepository.getInstance().getCourseById(item.getId());
 
         // Navigate ke ContentViewer langsung untuk kursus offline
-        if (course.hasOfflineContent() && course.getFirstLessonAsset() != null) {
+        if (course != null && course.hasOfflineContent() && course.getFirstLessonAsset() != null) {
             Bundle bundle = new Bundle();
-            bundle.putSerializable("course", course);
-            bundle.putString("contentPath", course.getFirstLessonAsset());
+            bundle.putInt(Constants.ARG_COURSE_ID, course.getId());
+            bundle.putString(Constants.ARG_LESSON_ID, course.getFirstLessonAsset());
 
             navController.navigate(R.id.action_courseListFragment_to_contentViewerFragment, bundle);
         } else {
@@ -189,6 +258,26 @@ public class CourseListFragment extends Fragment {
         }
     }
 
+    /**
+     * Open the lesson of a search hit, scrolled to the matching section
+     */
+    private void navigateToLessonHit(LessonSearchHit hit) {
+        Course course = CourseRepository.getInstance().getCourseById(hit.getCourseId());
+        if (course == null || !course.hasOfflineContent()) {
+            showError("Konten offline tidak tersedia untuk kursus ini");
+            return;
+        }
+
+        Bundle bundle = new Bundle();
+        bundle.putInt(Constants.ARG_COURSE_ID, course.getId());
+        bundle.putString(Constants.ARG_LESSON_ID, hit.getLessonAsset());
+        bundle.putInt(Constants.ARG_ANCHOR_SECTION, hit.getSectionIndex());
+        bundle.putString(Constants.ARG_HIGHLIGHT_QUERY, lastQuery);
+
+        Navigation.findNavController(requireView())
+                .navigate(R.id.action_courseListFragment_to_contentViewerFragment, bundle);
+    }
+
     @Override
     public void onDestroyView() {
         super.onDestroyView();
@@ -0,0 +1,110 @@
+package com.codelearn.android.ui.courses;
+
+import androidx.annotation.NonNull;
+
+import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseCategory;
+import com.codelearn.android.ui.courses.CourseListViewModel.FilterType;
+import com.codelearn.android.ui.courses.CourseListViewModel.SortType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Course ids for every FilterType x SortType combination, built once per catalog
+ *
+ * Each sort order is applied once to the whole catalog and then split by category ordinal,
+ * so switching filter or sort is an array lookup.
+ */
+class CourseListIndex {
+
+    private static final int ALL_COURSES = FilterType.ALL.ordinal();
+
+    private final List<Course> catalog;
+    private final int[][][] idsByFilterAndSort;
+
+    private CourseListIndex(List<Course> catalog, int[][][] idsByFilterAndSort) {
+        this.catalog = catalog;
+        this.idsByFilterAndSort = idsByFilterAndSort;
+    }
+
+    /**
+     * Build all views of a catalog. Runs off the main thread.
+     * @param catalog unmodifiable catalog from CourseRepository
+     */
+    @NonNull
+    static CourseListIndex build(@NonNull List<Course> catalog) {
+        // Category ordinal -> filter ordinal, so the split below never compares names
+        int[] filterOfCategory = new int[CourseCategory.values().length];
+        Arrays.fill(filterOfCategory, -1);
+        for (FilterType filter : FilterType.values()) {
+            if (filter.getCategory() != null) {
+                filterOfCategory[filter.getCategory().ordinal()] = filter.ordinal();
+            }
+        }
+
+        FilterType[] filters = FilterType.values();
+        SortType[] sorts = SortType.values();
+        int[][][] views = new int[filters.length][sorts.length][];
+        List<Course> sorted = new ArrayList<>(catalog);
+        for (SortType sort : sorts) {
+            sorted.sort(comparatorFor(sort));
+
+            int[] counts = new int[filters.length];
+            for (Course course : sorted) {
+                int filter = filterOfCategory[course.getCategoryType().ordinal()];
+                if (filter >= 0) {
+                    counts[filter]++;
+                }
+            }
+            counts[ALL_COURSES] = sorted.size();
+
+            int[] fill = new int[filters.length];
+            for (int filter = 0; filter < filters.length; filter++) {
+                views[filter][sort.ordinal()] = new int[counts[filter]];
+            }
+            for (Course course : sorted) {
+                views[ALL_COURSES][sort.ordinal()][fill[ALL_COURSES]++] = course.getId();
+                int filter = filterOfCategory[course.getCategoryType().ordinal()];
+                if (filter >= 0) {
+                    views[filter][sort.ordinal()][fill[filter]++] = course.getId();
+                }
+            }
+        }
+        return new CourseListIndex(catalog, views);
+    }
+
+    /**
+     * Ordered ids of one filter and sort. The array is shared and must not be modified.
+     */
+    @NonNull
+    int[] get(@NonNull FilterType filter, @NonNull SortType sort) {
+        return idsByFilterAndSort[filter.ordinal()][sort.ordinal()];
+    }
+
+    /**
+     * Check whether this index still matches the repository catalog
+     * @param catalog current catalog; a reload replaces the list instance
+     */
+    boolean isBuiltFrom(List<Course> catalog) {
+        return this.catalog == catalog;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static Comparator<Course> comparatorFor(SortType sort) {
+        switch (sort) {
+            case DIFFICULTY:
+                return Comparator.comparingInt(Course::getDifficulty).thenComparingInt(Course::getId);
+            case POPULAR:
+                // Mock popularity - in real implementation this would come from user data
+                return Comparator.comparingInt(Course::getId);
+            case TITLE:
+            default:
+                return Comparator.comparing(Course::getTitle, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                        .thenComparingInt(Course::getId);
+        }
+    }
+}
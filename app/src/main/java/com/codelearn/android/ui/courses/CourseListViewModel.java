@@ -3,13 +3,29 @@ package com.codelearn.android.ui.courses;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
-
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.database.LessonSearchHit;
+import com.codelearn.android.data.search.SearchRepository;
+import com.codelearn.android.data.search.SearchResult;
 import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseCategory;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * ViewModel for CourseListFragment
@@ -17,16 +33,60 @@ import java.util.List;
  */
 public class CourseListViewModel extends ViewModel {
 
-    private final MutableLiveData<List<Course>> courses = new MutableLiveData<>();
+    private final LiveData<PagingData<CourseItem>> courses;
+    private final MutableLiveData<Integer> resultCount = new MutableLiveData<>();
+    private final MutableLiveData<List<LessonSearchHit>> lessonResults = new MutableLiveData<>();
     private final MutableLiveData<Boolean> loadingState = new MutableLiveData<>();
     private final MutableLiveData<Object> errorState = new MutableLiveData<>();
     private final MutableLiveData<FilterType> currentFilter = new MutableLiveData<>();
     private final MutableLiveData<SortType> currentSort = new MutableLiveData<>();
 
-    private List<Course> allCourses = new ArrayList<>();
-    private List<Course> filteredCourses = new ArrayList<>();
+    private static final int SEARCH_RESULT_LIMIT = 100;
+    private static final int LESSON_RESULT_LIMIT = 20;
+    private static final int PREFETCH_DISTANCE = Constants.PAGE_SIZE / 2;
+    private static final int MAX_LOADED_ITEMS = Constants.PAGE_SIZE * 10;
+
+    private final CourseRepository courseRepository;
+    private final SearchRepository searchRepository;
+    private final CourseSearchPipeline<SearchResults> searchPipeline;
+    private final Executor computeExecutor;
+    private final CourseRepository.CatalogListener catalogListener = courses -> applyFilterAndSort();
+
+    // Ids under the current filter and sort, and the ids currently paged (filtered or searched)
+    private volatile int[] filteredIds = new int[0];
+    private volatile int[] visibleIds = new int[0];
+    private volatile CoursePagingSource currentSource;
+    private volatile CourseListIndex courseIndex;
+    private volatile String currentQuery;
 
     public CourseListViewModel() {
+        this(CourseRepository.getInstance(), SearchRepository.getInstance(), AppExecutors.getInstance());
+    }
+
+    public CourseListViewModel(CourseRepository courseRepository, SearchRepository searchRepository,
+                               AppExecutors appExecutors) {
+        this.courseRepository = courseRepository;
+        this.searchRepository = searchRepository;
+        this.computeExecutor = appExecutors.compute();
+        this.searchPipeline = new CourseSearchPipeline<>(
+                appExecutors.scheduledExecutor(),
+                Constants.SEARCH_DELAY,
+                this::runSearch,
+                (query, results) -> {
+                    showIds(results.courseIds);
+                    lessonResults.postValue(results.lessonHits);
+                });
+
+        // One pager for the lifetime of the screen; new results invalidate its source
+        Pager<Integer, CourseItem> pager = new Pager<>(
+                new PagingConfig(Constants.PAGE_SIZE, PREFETCH_DISTANCE, true,
+                        Constants.PAGE_SIZE * 2, MAX_LOADED_ITEMS),
+                this::createPagingSource);
+        courses = PagingLiveData.cachedIn(PagingLiveData.getLiveData(pager), ViewModelKt.getViewModelScope(this));
+
+        // Content updates, resets and progress commits replace the catalog; rebuild the index from it
+        courseRepository.addCatalogListener(catalogListener);
+
         // Initialize with default states
         loadingState.setValue(false);
         currentFilter.setValue(FilterType.ALL);
@@ -35,10 +95,27 @@ public class CourseListViewModel extends ViewModel {
 
     // ==================== GETTERS ====================
 
-    public LiveData<List<Course>> getCourses() {
+    /**
+     * Paged courses of the current filter or search
+     */
+    public LiveData<PagingData<CourseItem>> getCourses() {
         return courses;
     }
 
+    /**
+     * Number of courses behind getCourses(), posted with every new result
+     */
+    public LiveData<Integer> getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * Lesson sections matching the active query, empty when no search is active
+     */
+    public LiveData<List<LessonSearchHit>> getLessonResults() {
+        return lessonResults;
+    }
+
     public LiveData<Boolean> getLoadingState() {
         return loadingState;
     }
@@ -58,7 +135,21 @@ public class CourseListViewModel extends ViewModel {
     // ==================== ENUMS ====================
 
     public enum FilterType {
-        ALL, HTML, CSS, JAVASCRIPT
+        ALL(null), HTML(CourseCategory.HTML), CSS(CourseCategory.CSS), JAVASCRIPT(CourseCategory.JAVASCRIPT);
+
+        private final CourseCategory category;
+
+        FilterType(CourseCategory category) {
+            this.category = category;
+        }
+
+        /**
+         * Course category matched by this filter
+         * @return category, or null for all categories
+         */
+        public CourseCategory getCategory() {
+            return category;
+        }
     }
 
     public enum SortType {
@@ -72,28 +163,7 @@ public class CourseListViewModel extends ViewModel {
      */
     public void loadCourses() {
         setLoading(true);
-
-        // Simulate data loading
-        // In real implementation, this would call repository
-        new Thread(() -> {
-            try {
-                Thread.sleep(1000); // Simulate network delay
-
-                // Mock courses data
-                List<Course> mockCourses = createMockCourses();
-                allCourses.clear();
-                allCourses.addAll(mockCourses);
-
-                // Apply current filter and sort
-                applyFilterAndSort();
-
-                setLoading(false);
-
-            } catch (InterruptedException e) {
-                errorState.postValue(e);
-                setLoading(false);
-            }
-        }).start();
+        applyFilterAndSort();
     }
 
     /**
@@ -121,46 +191,100 @@ public class CourseListViewModel extends ViewModel {
 
     /**
      * Search courses by query
+     * Input is debounced by Constants.SEARCH_DELAY and only the latest query publishes results
      */
     public void searchCourses(String query) {
-        setLoading(true);
+        if (query == null || query.trim().isEmpty()) {
+            clearSearch();
+            return;
+        }
 
-        new Thread(() -> {
-            try {
-                Thread.sleep(500); // Simulate search delay
+        currentQuery = query;
+        searchPipeline.submit(query);
+    }
 
-                List<Course> searchResults = new ArrayList<>();
+    /**
+     * Clear search
+     */
+    public void clearSearch() {
+        currentQuery = null;
+        searchPipeline.cancel();
+        showIds(filteredIds);
+        lessonResults.postValue(Collections.emptyList());
+    }
 
-                if (query == null || query.trim().isEmpty()) {
-                    searchResults.addAll(filteredCourses);
-                } else {
-                    String searchQuery = query.toLowerCase().trim();
-                    for (Course course : filteredCourses) {
-                        if (course.getTitle().toLowerCase().contains(searchQuery) ||
-                                course.getDescription().toLowerCase().contains(searchQuery)) {
-                            searchResults.add(course);
-                        }
-                    }
-                }
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        courseRepository.removeCatalogListener(catalogListener);
+        searchPipeline.cancel();
+    }
 
-                courses.postValue(searchResults);
-                setLoading(false);
+    // ==================== PRIVATE HELPERS ====================
 
-            } catch (InterruptedException e) {
-                errorState.postValue(e);
-                setLoading(false);
+    /**
+     * Run one search against the current filter. Called on the scheduled executor.
+     * Uses the prebuilt search index; lesson hits rank their course
+     */
+    private SearchResults runSearch(String query) {
+        int[] filtered = filteredIds;
+        int[] matchedIds = searchCourseList(query, filtered);
+        List<LessonSearchHit> lessonHits = searchRepository.isIndexReady()
+                ? filterLessonHits(searchRepository.searchLessons(query, LESSON_RESULT_LIMIT), filtered)
+                : Collections.emptyList();
+        return new SearchResults(matchedIds, lessonHits);
+    }
+
+    private int[] searchCourseList(String query, int[] filtered) {
+        if (searchRepository.isIndexReady()) {
+            return rankByIndex(query, filtered);
+        }
+
+        int[] searchResults = new int[filtered.length];
+        int count = 0;
+        String searchQuery = query.toLowerCase().trim();
+        for (int courseId : filtered) {
+            Course course = courseRepository.getCourseById(courseId);
+            if (course != null && (course.getTitle().toLowerCase().contains(searchQuery) ||
+                    course.getDescription().toLowerCase().contains(searchQuery))) {
+                searchResults[count++] = courseId;
             }
-        }).start();
+        }
+        return Arrays.copyOf(searchResults, count);
     }
 
     /**
-     * Clear search
+     * Keep only lesson hits of courses visible under the current filter
      */
-    public void clearSearch() {
-        courses.postValue(new ArrayList<>(filteredCourses));
+    private List<LessonSearchHit> filterLessonHits(List<LessonSearchHit> hits, int[] filtered) {
+        Set<Integer> visible = toSet(filtered);
+
+        List<LessonSearchHit> visibleHits = new ArrayList<>();
+        for (LessonSearchHit hit : hits) {
+            if (visible.contains(hit.getCourseId())) {
+                visibleHits.add(hit);
+            }
+        }
+        return visibleHits;
     }
 
-    // ==================== PRIVATE HELPERS ====================
+    /**
+     * Page over a new result and tell the fragment its size
+     */
+    private void showIds(int[] courseIds) {
+        visibleIds = courseIds;
+        resultCount.postValue(courseIds.length);
+        CoursePagingSource source = currentSource;
+        if (source != null) {
+            source.invalidate();
+        }
+    }
+
+    private CoursePagingSource createPagingSource() {
+        CoursePagingSource source = new CoursePagingSource(visibleIds, courseRepository, computeExecutor);
+        currentSource = source;
+        return source;
+    }
 
     private void setLoading(boolean isLoading) {
         loadingState.postValue(isLoading);
@@ -168,136 +292,92 @@ public class CourseListViewModel extends ViewModel {
 
     /**
      * Apply current filter and sort to courses
+     * Served from the precomputed index, which is rebuilt on the compute pool only when the
+     * catalog changed
      */
     private void applyFilterAndSort() {
-        filteredCourses.clear();
+        // Results of a search against the old filter must not be published
+        searchPipeline.cancel();
+
+        courseRepository.getCourses(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> catalog) {
+                CourseListIndex index = courseIndex;
+                if (index != null && index.isBuiltFrom(catalog)) {
+                    showFiltered(index);
+                } else {
+                    computeExecutor.execute(() -> showFiltered(indexFor(catalog)));
+                }
+            }
 
-        // Apply filter
-        FilterType filter = currentFilter.getValue();
-        for (Course course : allCourses) {
-            if (filter == FilterType.ALL ||
-                (filter == FilterType.HTML && "HTML".equals(course.getCategory())) ||
-                (filter == FilterType.CSS && "CSS".equals(course.getCategory())) ||
-                (filter == FilterType.JAVASCRIPT && "JavaScript".equals(course.getCategory()))) {
-                filteredCourses.add(course);
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                errorState.postValue(e);
+                setLoading(false);
             }
+        });
+    }
+
+    private synchronized CourseListIndex indexFor(List<Course> catalog) {
+        CourseListIndex index = courseIndex;
+        if (index == null || !index.isBuiltFrom(catalog)) {
+            index = CourseListIndex.build(catalog);
+            courseIndex = index;
         }
+        return index;
+    }
 
-        // Apply sort
+    private void showFiltered(CourseListIndex index) {
+        FilterType filter = currentFilter.getValue();
         SortType sort = currentSort.getValue();
-        sortCourses(sort);
-
-        // Update LiveData
-        courses.postValue(new ArrayList<>(filteredCourses));
+        int[] courseIds = index.get(filter != null ? filter : FilterType.ALL, sort != null ? sort : SortType.TITLE);
+        filteredIds = courseIds;
+
+        // Update the pager, re-running an active search against the new filter
+        String query = currentQuery;
+        if (query != null) {
+            searchPipeline.submit(query);
+        } else {
+            showIds(courseIds);
+        }
+        setLoading(false);
     }
 
     /**
-     * Sort courses based on current sort type
+     * Map index hits to the courses visible under the current filter, best match first
      */
-    private void sortCourses(SortType sortType) {
-        Comparator<Course> comparator;
-
-        switch (sortType) {
-            case TITLE:
-                comparator = Comparator.comparing(Course::getTitle);
-                break;
-            case DIFFICULTY:
-                comparator = Comparator.comparingInt(Course::getDifficulty);
-                break;
-            case POPULAR:
-                // Mock popularity - in real implementation this would come from user data
-                comparator = Comparator.comparingInt(Course::getId); // Reverse ID for mock popularity
-                break;
-            default:
-                comparator = Comparator.comparing(Course::getTitle);
-                break;
+    private int[] rankByIndex(String query, int[] filtered) {
+        Set<Integer> visible = toSet(filtered);
+        List<SearchResult> results = searchRepository.search(query, SEARCH_RESULT_LIMIT);
+        int[] ranked = new int[results.size()];
+        int count = 0;
+        for (SearchResult result : results) {
+            // remove() both checks visibility and drops duplicate hits of one course
+            if (visible.remove(result.getCourseId())) {
+                ranked[count++] = result.getCourseId();
+            }
         }
+        return Arrays.copyOf(ranked, count);
+    }
 
-        Collections.sort(filteredCourses, comparator);
+    private static Set<Integer> toSet(int[] courseIds) {
+        Set<Integer> set = new HashSet<>(courseIds.length * 4 / 3 + 1);
+        for (int courseId : courseIds) {
+            set.add(courseId);
+        }
+        return set;
     }
 
     /**
-     * Create mock courses data
+     * Course and lesson results of one search, published together
      */
-    private List<Course> createMockCourses() {
-        List<Course> courses = new ArrayList<>();
-
-        // HTML Courses
-        Course htmlBasics = new Course(
-                "Pengenalan HTML",
-                "Pelajari dasar-dasar HTML mulai dari tag, atribut, hingga struktur dokumen HTML untuk pemula.",
-                "HTML",
-                1,
-                180,
-                "html_basics"
-        );
-        htmlBasics.setId(1);
-
-        // Set offline content untuk HTML Pengenalan
-        List<String> htmlBasicsFiles = new ArrayList<>();
-        htmlBasicsFiles.add("01_pengenalan.html");
-        htmlBasics.setLessonFiles(htmlBasicsFiles);
-        htmlBasics.setHasOfflineContent(true);
-        htmlBasics.setFirstLessonAsset("01_pengenalan.html");
-
-        Course htmlForms = new Course(
-                "Form dan Input HTML",
-                "Kuasai pembuatan form dan berbagai jenis input untuk interaksi pengguna di website.",
-                "HTML",
-                2,
-                240,
-                "html_forms"
-        );
-        htmlForms.setId(2);
-
-        // Set offline content untuk HTML Forms
-        List<String> htmlFormsFiles = new ArrayList<>();
-        htmlFormsFiles.add("02_form_dan_input.html");
-        htmlForms.setLessonFiles(htmlFormsFiles);
-        htmlForms.setHasOfflineContent(true);
-        htmlForms.setFirstLessonAsset("02_form_dan_input.html");
-
-        // CSS Courses
-        Course cssBasics = new Course(
-                "Pengenalan CSS",
-                "Pelajari dasar-dasar CSS untuk styling website, termasuk selectors, properties, dan layout.",
-                "CSS",
-                2,
-                300,
-                "css_fundamentals"
-        );
-        cssBasics.setId(3);
-
-        // Set offline content untuk CSS Pengenalan
-        List<String> cssBasicsFiles = new ArrayList<>();
-        cssBasicsFiles.add("01_pengenalan_css.html");
-        cssBasics.setLessonFiles(cssBasicsFiles);
-        cssBasics.setHasOfflineContent(true);
-        cssBasics.setFirstLessonAsset("01_pengenalan_css.html");
-
-        // JavaScript Courses
-        Course jsBasics = new Course(
-                "Pengenalan JavaScript",
-                "Pelajari fundamental JavaScript untuk membuat website interaktif dan dinamis.",
-                "JavaScript",
-                3,
-                420,
-                "javascript_fundamentals"
-        );
-        jsBasics.setId(4);
-
-        // Set offline content untuk JavaScript Pengenalan
-        List<String> jsBasicsFiles = new ArrayList<>();
-        jsBasicsFiles.add("01_pengenalan_javascript.html");
-        jsBasics.setLessonFiles(jsBasicsFiles);
-        jsBasics.setHasOfflineContent(true);
-        jsBasics.setFirstLessonAsset("01_pengenalan_javascript.html");
-
-        courses.add(htmlBasics);
-        courses.add(htmlForms);
-        courses.add(cssBasics);
-        courses.add(jsBasics);
+    private static class SearchResults {
+        final int[] courseIds;
+        final List<LessonSearchHit> lessonHits;
 
-        return courses;
+        SearchResults(int[] courseIds, List<LessonSearchHit> lessonHits) {
+            this.courseIds = courseIds;
+            this.lessonHits = lessonHits;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.codelearn.android.ui.courses;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.utils.Constants;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Pages over an ordered array of course ids
+ *
+ * Keys are page numbers starting at Constants.FIRST_PAGE. Only the ids of the whole result
+ * are held; a CourseItem is built when its page is loaded, so memory and first-bind time do
+ * not grow with the catalog. Item counts are exact, which allows placeholders and jumping.
+ */
+class CoursePagingSource extends ListenableFuturePagingSource<Integer, CourseItem> {
+
+    private final int[] courseIds;
+    private final CourseRepository courseRepository;
+    private final Executor executor;
+
+    CoursePagingSource(@NonNull int[] courseIds, @NonNull CourseRepository courseRepository,
+                       @NonNull Executor executor) {
+        this.courseIds = courseIds;
+        this.courseRepository = courseRepository;
+        this.executor = executor;
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Integer, CourseItem>> loadFuture(@NonNull LoadParams<Integer> params) {
+        ListenableFutureTask<LoadResult<Integer, CourseItem>> task = ListenableFutureTask.create(() -> load(
+                params.getKey() != null ? params.getKey() : Constants.FIRST_PAGE, params.getLoadSize()));
+        executor.execute(task);
+        return task;
+    }
+
+    @Nullable
+    @Override
+    public Integer getRefreshKey(@NonNull PagingState<Integer, CourseItem> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        return anchorPosition != null ? Constants.FIRST_PAGE + anchorPosition / Constants.PAGE_SIZE : null;
+    }
+
+    @Override
+    public boolean getJumpingSupported() {
+        return true;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private LoadResult<Integer, CourseItem> load(int page, int loadSize) {
+        // A refresh key from a longer, older result may point past the end
+        int lastPage = Constants.FIRST_PAGE + Math.max(0, courseIds.length - 1) / Constants.PAGE_SIZE;
+        page = Math.max(Constants.FIRST_PAGE, Math.min(page, lastPage));
+        int pages = Math.max(1, loadSize / Constants.PAGE_SIZE);
+
+        int start = (page - Constants.FIRST_PAGE) * Constants.PAGE_SIZE;
+        int end = Math.min(courseIds.length, start + pages * Constants.PAGE_SIZE);
+        List<CourseItem> items = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            Course course = courseRepository.getCourseById(courseIds[i]);
+            if (course == null) {
+                // Dropped by a catalog reload. Skipping it would break the exact counts; the owner
+                // publishes fresh ids from its catalog listener and the next source pages those.
+                return new LoadResult.Invalid<>();
+            }
+            items.add(CourseItem.from(course));
+        }
+
+        return new LoadResult.Page<>(items,
+                page > Constants.FIRST_PAGE ? page - 1 : null,
+                end < courseIds.length ? page + pages : null,
+                start,
+                courseIds.length - end);
+    }
+}
@@ -0,0 +1,90 @@
+package com.codelearn.android.ui.courses;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Debounced search pipeline for the course list
+ *
+ * Each submitted query gets a new generation number. The search only starts after the
+ * debounce delay, pending searches are cancelled when a newer query arrives, and results
+ * are published only if no newer query was submitted in the meantime.
+ *
+ * @param <T> result type produced by one search
+ */
+class CourseSearchPipeline<T> {
+
+    interface SearchFunction<T> {
+        T search(String query);
+    }
+
+    interface ResultListener<T> {
+        void onSearchResults(String query, T results);
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final long debounceMillis;
+    private final SearchFunction<T> searchFunction;
+    private final ResultListener<T> resultListener;
+
+    private final AtomicLong generation = new AtomicLong();
+    private ScheduledFuture<?> pendingSearch;
+
+    CourseSearchPipeline(ScheduledExecutorService scheduler, long debounceMillis,
+                         SearchFunction<T> searchFunction, ResultListener<T> resultListener) {
+        this.scheduler = scheduler;
+        this.debounceMillis = debounceMillis;
+        this.searchFunction = searchFunction;
+        this.resultListener = resultListener;
+    }
+
+    /**
+     * Submit a query. It runs after the debounce delay unless a newer query arrives first.
+     * @param query search query
+     */
+    synchronized void submit(String query) {
+        long queryGeneration = generation.incrementAndGet();
+        cancelPendingLocked();
+        pendingSearch = scheduler.schedule(() -> runSearch(query, queryGeneration),
+                debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drop the pending query and ignore the result of any search still running
+     */
+    synchronized void cancel() {
+        generation.incrementAndGet();
+        cancelPendingLocked();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void cancelPendingLocked() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+    }
+
+    private void runSearch(String query, long queryGeneration) {
+        if (!isCurrent(queryGeneration)) {
+            return;
+        }
+
+        T results = searchFunction.search(query);
+
+        // A newer query or a filter change arrived while searching.
+        // Publishing under the lock keeps a stale result from landing after cancel() returns.
+        synchronized (this) {
+            if (isCurrent(queryGeneration)) {
+                resultListener.onSearchResults(query, results);
+            }
+        }
+    }
+
+    private boolean isCurrent(long queryGeneration) {
+        return generation.get() == queryGeneration;
+    }
+}
@@ -0,0 +1,129 @@
+package com.codelearn.android.ui.courses;
+
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.codelearn.android.data.database.LessonSearchHit;
+import com.codelearn.android.databinding.ItemLessonSearchResultBinding;
+import com.codelearn.android.utils.DiffConfigs;
+
+import java.util.Objects;
+
+/**
+ * RecyclerView adapter for full-text lesson search hits
+ * Snippets come from SQLite with matched terms between marker characters, shown in bold
+ */
+public class LessonSearchAdapter extends ListAdapter<LessonSearchHit, LessonSearchAdapter.LessonHitViewHolder> {
+
+    private static final AsyncDifferConfig<LessonSearchHit> DIFF_CONFIG = DiffConfigs.create(new DiffUtilCallback());
+
+    private OnItemClickListener onItemClickListener;
+
+    public interface OnItemClickListener {
+        void onItemClick(LessonSearchHit hit);
+    }
+
+    public LessonSearchAdapter() {
+        super(DIFF_CONFIG);
+    }
+
+    public void setOnItemClickListener(OnItemClickListener listener) {
+        this.onItemClickListener = listener;
+    }
+
+    @NonNull
+    @Override
+    public LessonHitViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemLessonSearchResultBinding binding = ItemLessonSearchResultBinding.inflate(
+                LayoutInflater.from(parent.getContext()), parent, false);
+        return new LessonHitViewHolder(binding);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LessonHitViewHolder holder, int position) {
+        LessonSearchHit hit = getItem(position);
+        holder.bind(hit);
+        holder.itemView.setOnClickListener(v -> {
+            if (onItemClickListener != null) {
+                onItemClickListener.onItemClick(hit);
+            }
+        });
+    }
+
+    static class LessonHitViewHolder extends RecyclerView.ViewHolder {
+        private final ItemLessonSearchResultBinding binding;
+
+        public LessonHitViewHolder(@NonNull ItemLessonSearchResultBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
+        }
+
+        public void bind(LessonSearchHit hit) {
+            binding.textLessonTitle.setText(hit.getLessonTitle() != null ? hit.getLessonTitle() : hit.getLessonAsset());
+
+            String heading = hit.getHeading();
+            if (heading != null && !heading.isEmpty()) {
+                binding.textSectionHeading.setText(heading);
+                binding.textSectionHeading.setVisibility(View.VISIBLE);
+            } else {
+                binding.textSectionHeading.setVisibility(View.GONE);
+            }
+
+            binding.textSnippet.setText(highlight(hit.getSnippet()));
+        }
+
+        /**
+         * Replace the match markers with bold spans
+         */
+        private static CharSequence highlight(String snippet) {
+            SpannableStringBuilder builder = new SpannableStringBuilder();
+            if (snippet == null) {
+                return builder;
+            }
+
+            int matchStart = -1;
+            for (int i = 0; i < snippet.length(); i++) {
+                char c = snippet.charAt(i);
+                if (c == LessonSearchHit.MATCH_START) {
+                    matchStart = builder.length();
+                } else if (c == LessonSearchHit.MATCH_END) {
+                    if (matchStart >= 0) {
+                        builder.setSpan(new StyleSpan(Typeface.BOLD), matchStart, builder.length(),
+                                Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                    }
+                    matchStart = -1;
+                } else {
+                    builder.append(c);
+                }
+            }
+            return builder;
+        }
+    }
+
+    private static class DiffUtilCallback extends DiffUtil.ItemCallback<LessonSearchHit> {
+        @Override
+        public boolean areItemsTheSame(@NonNull LessonSearchHit oldItem, @NonNull LessonSearchHit newItem) {
+            return oldItem.getCourseId() == newItem.getCourseId()
+                    && oldItem.getSectionIndex() == newItem.getSectionIndex()
+                    && Objects.equals(oldItem.getLessonAsset(), newItem.getLessonAsset());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LessonSearchHit oldItem, @NonNull LessonSearchHit newItem) {
+            return Objects.equals(oldItem.getSnippet(), newItem.getSnippet())
+                    && Objects.equals(oldItem.getHeading(), newItem.getHeading())
+                    && Objects.equals(oldItem.getLessonTitle(), newItem.getLessonTitle());
+        }
+    }
+}
@@ -5,20 +5,24 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.RecyclerView.ViewHolder;
 
 import com.codelearn.android.databinding.ItemRequirementBinding;
+import com.codelearn.android.utils.DiffConfigs;
 
 /**
  * RecyclerView adapter for course requirements
  */
 public class RequirementsAdapter extends ListAdapter<String, RequirementsAdapter.RequirementViewHolder> {
 
+    private static final AsyncDifferConfig<String> DIFF_CONFIG = DiffConfigs.create(new DiffUtilCallback());
+
     public RequirementsAdapter() {
-        super(new DiffUtilCallback());
+        super(DIFF_CONFIG);
     }
 
     @NonNull
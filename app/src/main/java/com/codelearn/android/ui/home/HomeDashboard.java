@@ -0,0 +1,37 @@
+package com.codelearn.android.ui.home;
+
+import com.codelearn.android.model.Achievement;
+import com.codelearn.android.model.CourseItem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of everything the home screen shows
+ * Published once per load so stats, recent courses and achievements always belong together.
+ */
+public final class HomeDashboard {
+
+    private final HomeViewModel.UserData userData;
+    private final List<CourseItem> recentCourses;
+    private final List<Achievement> achievements;
+
+    public HomeDashboard(HomeViewModel.UserData userData, List<CourseItem> recentCourses,
+                         List<Achievement> achievements) {
+        this.userData = userData;
+        this.recentCourses = Collections.unmodifiableList(recentCourses);
+        this.achievements = Collections.unmodifiableList(achievements);
+    }
+
+    public HomeViewModel.UserData getUserData() {
+        return userData;
+    }
+
+    public List<CourseItem> getRecentCourses() {
+        return recentCourses;
+    }
+
+    public List<Achievement> getAchievements() {
+        return achievements;
+    }
+}
@@ -0,0 +1,138 @@
+package com.codelearn.android.ui.home;
+
+import androidx.annotation.NonNull;
+
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.database.CourseDao;
+import com.codelearn.android.data.progress.AchievementEngine;
+import com.codelearn.android.data.progress.LearningStatsEngine;
+import com.codelearn.android.model.Achievement;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.model.LearningStats;
+import com.codelearn.android.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the home dashboard in one batch
+ *
+ * Stats, recent courses and achievements are requested at the same time, each on the
+ * executor its source already uses, and joined into a single HomeDashboard once all three
+ * have answered. Recent courses come from the progress.lastAccessDate index instead of a
+ * scan over the catalog.
+ */
+public class HomeDashboardLoader {
+
+    private static final String DEFAULT_USER_NAME = "John Doe";
+
+    private final CourseRepository courseRepository;
+    private final CourseDao courseDao;
+    private final LearningStatsEngine statsEngine;
+    private final AchievementEngine achievementEngine;
+    private final AppExecutors appExecutors;
+    private final int recentCourseLimit;
+
+    public HomeDashboardLoader(CourseRepository courseRepository, CourseDao courseDao,
+                               LearningStatsEngine statsEngine, AchievementEngine achievementEngine,
+                               AppExecutors appExecutors, int recentCourseLimit) {
+        this.courseRepository = courseRepository;
+        this.courseDao = courseDao;
+        this.statsEngine = statsEngine;
+        this.achievementEngine = achievementEngine;
+        this.appExecutors = appExecutors;
+        this.recentCourseLimit = recentCourseLimit;
+    }
+
+    /**
+     * Start loading
+     * @return future completed with the snapshot, or exceptionally if any source failed
+     */
+    @NonNull
+    public CompletableFuture<HomeDashboard> load() {
+        CompletableFuture<LearningStats> stats = loadStats();
+        CompletableFuture<List<CourseItem>> recentCourses = loadRecentCourses();
+        CompletableFuture<List<Achievement>> achievements = loadAchievements();
+
+        return CompletableFuture.allOf(stats, recentCourses, achievements)
+                .thenApply(ignored -> new HomeDashboard(
+                        toUserData(stats.join()), recentCourses.join(), achievements.join()));
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private CompletableFuture<LearningStats> loadStats() {
+        CompletableFuture<LearningStats> future = new CompletableFuture<>();
+        statsEngine.getStats(future::complete);
+        return future;
+    }
+
+    private CompletableFuture<List<CourseItem>> loadRecentCourses() {
+        CompletableFuture<List<CourseItem>> future = new CompletableFuture<>();
+        // Recent ids resolve against the cached catalog, so it is loaded first
+        courseRepository.getCourses(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                appExecutors.diskIO().execute(() -> {
+                    try {
+                        future.complete(selectRecent(courses, courseDao.getRecentIds(recentCourseLimit)));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<List<Achievement>> loadAchievements() {
+        CompletableFuture<List<Achievement>> future = new CompletableFuture<>();
+        achievementEngine.getAchievements(new AchievementEngine.LoadAchievementsCallback() {
+            @Override
+            public void onAchievementsLoaded(List<Achievement> achievements) {
+                future.complete(achievements);
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Resolve the most recently opened courses, falling back to the start of the catalog
+     * when nothing was opened yet
+     * @param recentIds course ids, newest access first
+     */
+    private List<CourseItem> selectRecent(List<Course> catalog, List<Integer> recentIds) {
+        List<CourseItem> recent = new ArrayList<>(recentIds.size());
+        for (Integer courseId : recentIds) {
+            Course course = courseRepository.getCourseById(courseId);
+            if (course != null) {
+                recent.add(CourseItem.from(course));
+            }
+        }
+        if (recent.isEmpty()) {
+            return CourseItem.fromAll(catalog.subList(0, Math.min(recentCourseLimit, catalog.size())));
+        }
+        return recent;
+    }
+
+    private static HomeViewModel.UserData toUserData(LearningStats stats) {
+        return new HomeViewModel.UserData(
+                DEFAULT_USER_NAME,
+                stats.getActiveCourses(),
+                stats.getCompletedLessons(),
+                stats.getCurrentStreak(),
+                stats.getTotalMinutesSpent());
+    }
+}
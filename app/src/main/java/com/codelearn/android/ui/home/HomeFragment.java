@@ -4,16 +4,28 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.codelearn.android.R;
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.progress.ResumePoint;
+import com.codelearn.android.data.progress.ResumePointStore;
 import com.codelearn.android.databinding.FragmentHomeBinding;
+import com.codelearn.android.model.Achievement;
 import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import java.util.List;
 
 /**
  * Home fragment yang menampilkan jalur pembelajaran offline sederhana
@@ -22,6 +34,8 @@ import com.codelearn.android.model.Course;
 public class HomeFragment extends Fragment {
 
     private FragmentHomeBinding binding;
+    private HomeViewModel viewModel;
+    private RecentCoursesAdapter recentCoursesAdapter;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -33,91 +47,194 @@ public class HomeFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         initializeViews();
+        setupRecentCourses();
+        initializeViewModel();
+        observeViewModel();
     }
 
     /**
      * Initialize click listeners untuk learning path cards
      */
     private void initializeViews() {
-        // HTML Card click listener
-        binding.cardHtml.setOnClickListener(v -> {
-            Course htmlCourse = createHtmlCourse();
-            navigateToContent(htmlCourse, "01_pengenalan.html");
-        });
+        // Each card resumes the last opened course of its category, or opens the first one
+        binding.cardHtml.setOnClickListener(v -> openLearningPath("HTML"));
+        binding.cardCss.setOnClickListener(v -> openLearningPath("CSS"));
+        binding.cardJavaScript.setOnClickListener(v -> openLearningPath("JavaScript"));
+
+        setupContinueCard();
+    }
 
-        // CSS Card click listener
-        binding.cardCss.setOnClickListener(v -> {
-            Course cssCourse = createCssCourse();
-            navigateToContent(cssCourse, "01_pengenalan_css.html");
+    /**
+     * Tampilkan kartu "Lanjutkan Belajar" dari resume point terakhir.
+     * Resume points are preloaded at startup, so the card is shown on the first frame.
+     */
+    private void setupContinueCard() {
+        ResumePoint point = ResumePointStore.getInstance().getLatest();
+        if (point == null) {
+            binding.cardContinue.setVisibility(View.GONE);
+            return;
+        }
+        binding.cardContinue.setVisibility(View.VISIBLE);
+
+        CourseRepository.getInstance().getCourses(new CourseRepository.LoadCoursesCallback() {
+            @Override
+            public void onCoursesLoaded(List<Course> courses) {
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    Course course = CourseRepository.getInstance().getCourseById(point.getCourseId());
+                    if (binding == null) {
+                        return;
+                    }
+                    if (course == null) {
+                        binding.cardContinue.setVisibility(View.GONE);
+                        return;
+                    }
+                    binding.continueCourseTitle.setText(course.getTitle());
+                    binding.cardContinue.setOnClickListener(v ->
+                            navigateToContent(course, point.getLesson(), point.getScrollY()));
+                });
+            }
+
+            @Override
+            public void onDataNotAvailable(Exception e) {
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    if (binding != null) {
+                        binding.cardContinue.setVisibility(View.GONE);
+                    }
+                });
+            }
         });
+    }
+
+    private void setupRecentCourses() {
+        recentCoursesAdapter = new RecentCoursesAdapter();
+        binding.recyclerViewRecentCourses.setLayoutManager(
+                new LinearLayoutManager(getContext(), LinearLayoutManager.HORIZONTAL, false));
+        binding.recyclerViewRecentCourses.setAdapter(recentCoursesAdapter);
+        recentCoursesAdapter.setOnItemClickListener((course, position) -> openRecentCourse(course));
+    }
+
+    private void initializeViewModel() {
+        viewModel = new ViewModelProvider(this).get(HomeViewModel.class);
+        // Reload on every visit so stats reflect lessons read since the last one
+        viewModel.loadDashboard();
+    }
+
+    private void observeViewModel() {
+        // Stats, recent courses and achievements arrive as one snapshot
+        viewModel.getDashboard().observe(getViewLifecycleOwner(), this::showDashboard);
+
+        viewModel.getLoadingState().observe(getViewLifecycleOwner(), isLoading ->
+                binding.progressDashboard.setVisibility(
+                        Boolean.TRUE.equals(isLoading) ? View.VISIBLE : View.GONE));
 
-        // JavaScript Card click listener
-        binding.cardJavaScript.setOnClickListener(v -> {
-            Course jsCourse = createJavaScriptCourse();
-            navigateToContent(jsCourse, "01_pengenalan_javascript.html");
+        // The learning paths still work without the dashboard, so only the stats are hidden
+        viewModel.getErrorState().observe(getViewLifecycleOwner(), error -> {
+            if (error != null && viewModel.getDashboard().getValue() == null) {
+                binding.cardStats.setVisibility(View.GONE);
+                binding.sectionRecentCourses.setVisibility(View.GONE);
+            }
         });
     }
 
     /**
-     * Membuat course object untuk HTML
+     * Tampilkan statistik belajar, kursus terakhir dan jumlah pencapaian
      */
-    private Course createHtmlCourse() {
-        Course course = new Course();
-        course.setId(1);
-        course.setTitle("HTML");
-        course.setDescription("Pelajari dasar-dasar HTML mulai dari tag, atribut, hingga struktur dokumen HTML untuk pemula.");
-        course.setCategory("HTML");
-        course.setDifficulty(1);
-        course.setEstimatedTime(180);
-        course.setHasOfflineContent(true);
-        course.setFirstLessonAsset("01_pengenalan.html");
-        return course;
+    private void showDashboard(HomeDashboard dashboard) {
+        if (dashboard == null) {
+            return;
+        }
+        HomeViewModel.UserData userData = dashboard.getUserData();
+        binding.textCompletedLessons.setText(String.valueOf(userData.getCompletedLessons()));
+        binding.textLearningStreak.setText(userData.getLearningStreak() + " hari");
+        binding.textLearningTime.setText(userData.getTotalHours() + " mnt");
+
+        int unlocked = 0;
+        for (Achievement achievement : dashboard.getAchievements()) {
+            if (achievement.isUnlocked()) {
+                unlocked++;
+            }
+        }
+        binding.textAchievements.setText(unlocked + "/" + dashboard.getAchievements().size());
+        binding.cardStats.setVisibility(View.VISIBLE);
+
+        List<CourseItem> recentCourses = dashboard.getRecentCourses();
+        recentCoursesAdapter.submitList(recentCourses);
+        binding.sectionRecentCourses.setVisibility(recentCourses.isEmpty() ? View.GONE : View.VISIBLE);
     }
 
     /**
-     * Membuat course object untuk CSS
+     * Buka kursus terakhir di posisi resume point-nya
      */
-    private Course createCssCourse() {
-        Course course = new Course();
-        course.setId(2);
-        course.setTitle("CSS");
-        course.setDescription("Pelajari dasar-dasar CSS untuk styling website, termasuk selectors, properties, dan layout.");
-        course.setCategory("CSS");
-        course.setDifficulty(2);
-        course.setEstimatedTime(300);
-        course.setHasOfflineContent(true);
-        course.setFirstLessonAsset("01_pengenalan_css.html");
-        return course;
+    private void openRecentCourse(CourseItem item) {
+        Course course = CourseRepository.getInstance().getCourseById(item.getId());
+        if (course == null) {
+            return;
+        }
+        ResumePoint point = ResumePointStore.getInstance().get(course.getId());
+        if (point != null) {
+            navigateToContent(course, point.getLesson(), point.getScrollY());
+        } else {
+            navigateToContent(course, course.getFirstLessonAsset(), 0);
+        }
     }
 
     /**
-     * Membuat course object untuk JavaScript
+     * Membuka kursus dari kategori yang dipilih, di posisi terakhir jika pernah dibuka
      */
-    private Course createJavaScriptCourse() {
-        Course course = new Course();
-        course.setId(3);
-        course.setTitle("JavaScript");
-        course.setDescription("Pelajari fundamental JavaScript untuk membuat website interaktif dan dinamis.");
-        course.setCategory("JavaScript");
-        course.setDifficulty(3);
-        course.setEstimatedTime(420);
-        course.setHasOfflineContent(true);
-        course.setFirstLessonAsset("01_pengenalan_javascript.html");
-        return course;
+    private void openLearningPath(String category) {
+        CourseRepository.getInstance().getCourses(category, CourseRepository.SortOrder.ID,
+                new CourseRepository.LoadCoursesCallback() {
+                    @Override
+                    public void onCoursesLoaded(List<Course> courses) {
+                        AppExecutors.getInstance().executeMainThread(() -> {
+                            if (binding == null || courses.isEmpty()) {
+                                return;
+                            }
+                            ResumePointStore resumePoints = ResumePointStore.getInstance();
+                            Course resumeCourse = null;
+                            ResumePoint resumePoint = null;
+                            for (Course course : courses) {
+                                ResumePoint point = resumePoints.get(course.getId());
+                                if (point != null && (resumePoint == null
+                                        || point.getUpdatedAt() > resumePoint.getUpdatedAt())) {
+                                    resumeCourse = course;
+                                    resumePoint = point;
+                                }
+                            }
+
+                            if (resumePoint != null) {
+                                navigateToContent(resumeCourse, resumePoint.getLesson(), resumePoint.getScrollY());
+                            } else {
+                                Course course = courses.get(0);
+                                navigateToContent(course, course.getFirstLessonAsset(), 0);
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onDataNotAvailable(Exception e) {
+                        AppExecutors.getInstance().executeMainThread(() -> {
+                            if (getContext() != null) {
+                                Toast.makeText(getContext(), "Gagal memuat kursus", Toast.LENGTH_SHORT).show();
+                            }
+                        });
+                    }
+                });
     }
 
     /**
      * Navigasi ke ContentViewer dengan course dan content path
      */
-    private void navigateToContent(Course course, String contentPath) {
+    private void navigateToContent(Course course, String contentPath, int scrollY) {
         NavController navController = Navigation.findNavController(requireView());
 
         // Navigate ke ContentViewerFragment dengan arguments
         Bundle bundle = new Bundle();
-        bundle.putSerializable("course", course);
-        bundle.putString("contentPath", contentPath);
+        bundle.putInt(Constants.ARG_COURSE_ID, course.getId());
+        bundle.putString(Constants.ARG_LESSON_ID, contentPath);
+        bundle.putInt(Constants.ARG_SCROLL_Y, scrollY);
 
-        navController.navigate(R.id.action_courseListFragment_to_contentViewerFragment, bundle);
+        navController.navigate(R.id.action_global_contentViewerFragment, bundle);
     }
 
     @Override
@@ -4,10 +4,14 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import com.codelearn.android.model.Course;
+import com.codelearn.android.CodeLearnApplication;
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.progress.AchievementEngine;
+import com.codelearn.android.data.progress.LearningStatsEngine;
+import com.codelearn.android.utils.AppExecutors;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletionException;
 
 /**
  * ViewModel for HomeFragment
@@ -15,24 +19,34 @@ import java.util.List;
  */
 public class HomeViewModel extends ViewModel {
 
-    private final MutableLiveData<UserData> userData = new MutableLiveData<>();
-    private final MutableLiveData<List<Course>> recentCourses = new MutableLiveData<>();
+    private final MutableLiveData<HomeDashboard> dashboard = new MutableLiveData<>();
     private final MutableLiveData<Boolean> loadingState = new MutableLiveData<>();
     private final MutableLiveData<Object> errorState = new MutableLiveData<>();
 
+    private static final int RECENT_COURSE_LIMIT = 3;
+
+    private final HomeDashboardLoader dashboardLoader;
+    private final AppExecutors appExecutors;
+
     public HomeViewModel() {
+        this(new HomeDashboardLoader(CourseRepository.getInstance(),
+                AppDatabase.getInstance(CodeLearnApplication.getInstance()).courseDao(),
+                LearningStatsEngine.getInstance(), AchievementEngine.getInstance(),
+                AppExecutors.getInstance(), RECENT_COURSE_LIMIT), AppExecutors.getInstance());
+    }
+
+    public HomeViewModel(HomeDashboardLoader dashboardLoader, AppExecutors appExecutors) {
+        this.dashboardLoader = dashboardLoader;
+        this.appExecutors = appExecutors;
+
         // Initialize with loading state
         loadingState.setValue(false);
     }
 
     // ==================== GETTERS ====================
 
-    public LiveData<UserData> getUserData() {
-        return userData;
-    }
-
-    public LiveData<List<Course>> getRecentCourses() {
-        return recentCourses;
+    public LiveData<HomeDashboard> getDashboard() {
+        return dashboard;
     }
 
     public LiveData<Boolean> getLoadingState() {
@@ -46,136 +60,38 @@ public class HomeViewModel extends ViewModel {
     // ==================== DATA OPERATIONS ====================
 
     /**
-     * Load user data
-     */
-    public void loadUserData() {
-        setLoading(true);
-
-        // Simulate data loading
-        // In real implementation, this would call repository
-        new Thread(() -> {
-            try {
-                Thread.sleep(800); // Simulate network delay
-
-                // Mock data
-                UserData mockData = new UserData(
-                    "John Doe",                    // userName
-                    3,                            // enrolledCourses
-                    12,                           // completedLessons
-                    5,                            // learningStreak
-                    240                           // totalHours (in minutes)
-                );
-
-                // Post result on main thread
-                userData.postValue(mockData);
-                setLoading(false);
-
-            } catch (InterruptedException e) {
-                errorState.postValue(e);
-                setLoading(false);
-            }
-        }).start();
-    }
-
-    /**
-     * Load recent courses
+     * Load the dashboard: user stats, recent courses and achievements in one batch
+     * The spinner is cleared in the same main thread pass that publishes the data.
      */
-    public void loadRecentCourses() {
-        new Thread(() -> {
-            try {
-                Thread.sleep(600); // Simulate network delay
-
-                // Mock recent courses data
-                List<Course> courses = createMockRecentCourses();
-
-                // Post result on main thread
-                recentCourses.postValue(courses);
-
-            } catch (InterruptedException e) {
-                errorState.postValue(e);
+    public void loadDashboard() {
+        loadingState.postValue(true);
+
+        dashboardLoader.load().whenComplete((snapshot, error) -> appExecutors.executeMainThread(() -> {
+            if (snapshot != null) {
+                dashboard.setValue(snapshot);
+            } else {
+                // Failures of a joined source arrive wrapped
+                errorState.setValue(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
             }
-        }).start();
+            loadingState.setValue(false);
+        }));
     }
 
     /**
      * Load initial data for home screen
      */
     public void loadInitialData() {
-        loadUserData();
-        loadRecentCourses();
+        loadDashboard();
     }
 
     /**
      * Refresh all data
      */
     public void refreshData() {
-        loadUserData();
-        loadRecentCourses();
-    }
-
-    // ==================== PRIVATE HELPERS ====================
-
-    private void setLoading(boolean isLoading) {
-        // Track multiple loading operations
-        if (isLoading) {
-            loadingState.postValue(true);
-        } else {
-            // Only set loading to false when all operations are complete
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1000); // Wait for all operations
-                    loadingState.postValue(false);
-                } catch (InterruptedException e) {
-                    errorState.postValue(e);
-                }
-            }).start();
-        }
-    }
-
-    /**
-     * Create mock recent courses data
-     */
-    private List<Course> createMockRecentCourses() {
-        List<Course> courses = new ArrayList<>();
-
-        Course htmlCourse = new Course(
-                "HTML Fundamentals",
-                "Learn the basics of HTML including tags, attributes, and semantic markup.",
-                "HTML",
-                1,
-                300,
-                "html_fundamentals"
-        );
-        htmlCourse.setId(1);
-
-        Course cssCourse = new Course(
-                "CSS Styling",
-                "Master CSS for beautiful web design including layouts, animations, and responsive design.",
-                "CSS",
-                2,
-                450,
-                "css_styling"
-        );
-        cssCourse.setId(2);
-
-        Course jsCourse = new Course(
-                "JavaScript Programming",
-                "Learn JavaScript from basics to advanced concepts including DOM manipulation and async programming.",
-                "JavaScript",
-                3,
-                600,
-                "javascript_programming"
-        );
-        jsCourse.setId(3);
-
-        courses.add(htmlCourse);
-        courses.add(cssCourse);
-        courses.add(jsCourse);
-
-        return courses;
+        loadDashboard();
     }
 
-    
     // ==================== USER DATA MODEL ====================
 
     /**
@@ -2,36 +2,36 @@ package com.codelearn.android.ui.home;
 
 import androidx.recyclerview.widget.RecyclerView;
 
-import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 
 import com.codelearn.android.R;
 import com.codelearn.android.databinding.ItemRecentCourseBinding;
-import com.codelearn.android.model.Course;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.codelearn.android.model.CourseCategory;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.utils.DiffConfigs;
 
 /**
  * RecyclerView adapter for recent courses on home screen
  */
-public class RecentCoursesAdapter extends ListAdapter<Course, RecentCoursesAdapter.RecentCourseViewHolder> {
+public class RecentCoursesAdapter extends ListAdapter<CourseItem, RecentCoursesAdapter.RecentCourseViewHolder> {
+
+    private static final AsyncDifferConfig<CourseItem> DIFF_CONFIG = DiffConfigs.create(new DiffUtilCallback());
 
     private OnItemClickListener onItemClickListener;
-    private List<Course> courses = new ArrayList<>();
 
     public interface OnItemClickListener {
-        void onItemClick(Course course, int position);
+        void onItemClick(CourseItem course, int position);
     }
 
     public RecentCoursesAdapter() {
-        super(new DiffUtilCallback());
+        super(DIFF_CONFIG);
     }
 
     public void setOnItemClickListener(OnItemClickListener listener) {
@@ -48,16 +48,10 @@ public class RecentCoursesAdapter extends ListAdapter<Course, RecentCoursesAdapt
 
     @Override
     public void onBindViewHolder(@NonNull RecentCourseViewHolder holder, int position) {
-        Course course = getItem(position);
+        CourseItem course = getItem(position);
         holder.bind(course);
     }
 
-    @SuppressLint("NotifyDataSetChanged")
-    public void submitList(List<Course> list) {
-        this.courses = list != null ? list : new ArrayList<>();
-        super.submitList(this.courses);
-    }
-
     class RecentCourseViewHolder extends RecyclerView.ViewHolder {
         private final ItemRecentCourseBinding binding;
 
@@ -66,17 +60,16 @@ public class RecentCoursesAdapter extends ListAdapter<Course, RecentCoursesAdapt
             this.binding = binding;
         }
 
-        public void bind(Course course) {
+        public void bind(CourseItem course) {
             binding.textCourseTitle.setText(course.getTitle());
             binding.chipCategory.setText(course.getCategory());
 
             // Set category color
-            int categoryColor = getCategoryColor(course.getCategory());
+            int categoryColor = getCategoryColor(course.getCategoryType());
             binding.chipCategory.setChipBackgroundColorResource(categoryColor);
 
             // Set difficulty badge
-            String difficultyLevel = course.getDifficultyLevel();
-            binding.textDifficulty.setText(difficultyLevel);
+            binding.textDifficulty.setText(course.getDifficultyLevel());
             int difficultyColor = getDifficultyColor(course.getDifficulty());
             binding.textDifficulty.setTextColor(difficultyColor);
 
@@ -91,13 +84,13 @@ public class RecentCoursesAdapter extends ListAdapter<Course, RecentCoursesAdapt
             });
         }
 
-        private int getCategoryColor(String category) {
+        private int getCategoryColor(CourseCategory category) {
             switch (category) {
-                case "HTML":
+                case HTML:
                     return R.color.html_color;
-                case "CSS":
+                case CSS:
                     return R.color.css_color;
-                case "JavaScript":
+                case JAVASCRIPT:
                     return R.color.javascript_color;
                 default:
                     return R.color.md_theme_light_primary;
@@ -122,18 +115,15 @@ public class RecentCoursesAdapter extends ListAdapter<Course, RecentCoursesAdapt
         }
     }
 
-    private static class DiffUtilCallback extends DiffUtil.ItemCallback<Course> {
+    private static class DiffUtilCallback extends DiffUtil.ItemCallback<CourseItem> {
         @Override
-        public boolean areItemsTheSame(@NonNull Course oldItem, @NonNull Course newItem) {
+        public boolean areItemsTheSame(@NonNull CourseItem oldItem, @NonNull CourseItem newItem) {
             return oldItem.getId() == newItem.getId();
         }
 
         @Override
-        public boolean areContentsTheSame(@NonNull Course oldItem, @NonNull Course newItem) {
-            return oldItem.getTitle().equals(newItem.getTitle()) &&
-                    oldItem.getCategory().equals(newItem.getCategory()) &&
-                    oldItem.getDifficulty() == newItem.getDifficulty() &&
-                    oldItem.getEstimatedTime() == newItem.getEstimatedTime();
+        public boolean areContentsTheSame(@NonNull CourseItem oldItem, @NonNull CourseItem newItem) {
+            return oldItem.getContentHash() == newItem.getContentHash();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.codelearn.android.ui.settings;
+
+import android.net.Uri;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import com.codelearn.android.data.ContentUpdateRepository;
+import com.codelearn.android.data.content.ContentUpdate;
+import com.codelearn.android.data.progress.ProgressStore;
+import com.codelearn.android.data.progress.ResumePointStore;
+import com.codelearn.android.utils.AppExecutors;
+
+/**
+ * Actions shared by SettingsFragment and SimpleSettingsFragment
+ */
+final class SettingsActions {
+
+    // Content packs and patches are opaque binary files
+    static final String[] CONTENT_MIME_TYPES = {"application/octet-stream", "application/gzip"};
+
+    private SettingsActions() {
+    }
+
+    /**
+     * Import a picked content pack or patch and report the result with a toast
+     * @param fragment fragment that launched the document picker
+     * @param uri picked document, or null if the picker was cancelled
+     */
+    static void importContent(@NonNull Fragment fragment, @Nullable Uri uri) {
+        if (uri == null) {
+            return;
+        }
+
+        Toast.makeText(fragment.requireContext(), "Mengimpor paket materi...", Toast.LENGTH_SHORT).show();
+        ContentUpdateRepository.getInstance().importDocument(uri, new ContentUpdateRepository.ImportCallback() {
+            @Override
+            public void onContentImported(ContentUpdate update) {
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    if (fragment.getContext() != null) {
+                        Toast.makeText(fragment.getContext(), "Materi diperbarui ke versi " + update.getToVersion()
+                                + " (" + update.getChangedPaths().size() + " file berubah)", Toast.LENGTH_LONG).show();
+                    }
+                });
+            }
+
+            @Override
+            public void onImportFailed(Exception e) {
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    if (fragment.getContext() != null) {
+                        Toast.makeText(fragment.getContext(), "Paket materi tidak dapat diimpor", Toast.LENGTH_LONG).show();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Delete all progress and resume points, then confirm with a toast
+     * @param fragment fragment that asked for the reset
+     * @param onReset run on the main thread once the catalog was reloaded without progress, may be null
+     */
+    static void resetProgress(@NonNull Fragment fragment, @Nullable Runnable onReset) {
+        ProgressStore.getInstance().resetAll(() ->
+                AppExecutors.getInstance().executeMainThread(() -> {
+                    ResumePointStore.getInstance().clear();
+                    if (onReset != null) {
+                        onReset.run();
+                    }
+                    if (fragment.getContext() != null) {
+                        Toast.makeText(fragment.getContext(), "Progress berhasil direset", Toast.LENGTH_SHORT).show();
+                    }
+                }));
+    }
+}
@@ -6,6 +6,8 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
@@ -22,6 +24,10 @@ public class SettingsFragment extends Fragment {
 
     private FragmentSettingsBinding binding;
 
+    private final ActivityResultLauncher<String[]> importContentLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(),
+                    uri -> SettingsActions.importContent(this, uri));
+
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -77,6 +83,11 @@ public class SettingsFragment extends Fragment {
                 binding.textSize.setOnClickListener(v -> showTextSizeDialog());
             }
 
+            if (binding.importContent != null) {
+                binding.importContent.setOnClickListener(v ->
+                        importContentLauncher.launch(SettingsActions.CONTENT_MIME_TYPES));
+            }
+
             if (binding.resetProgress != null) {
                 binding.resetProgress.setOnClickListener(v -> showResetProgressDialog());
             }
@@ -186,13 +197,11 @@ public class SettingsFragment extends Fragment {
                 androidx.appcompat.app.AlertDialog.Builder builder = new androidx.appcompat.app.AlertDialog.Builder(requireContext());
                 builder.setTitle("Reset Progress")
                        .setMessage("Apakah Anda yakin ingin mereset semua progress belajar? Tindakan ini tidak dapat dibatalkan.")
-                       .setPositiveButton("Reset", (dialog, which) -> {
-                           // TODO: Reset all progress
-                           updateProgressDisplay();
-                           if (getContext() != null) {
-                               Toast.makeText(getContext(), "Progress berhasil direset", Toast.LENGTH_SHORT).show();
+                       .setPositiveButton("Reset", (dialog, which) -> SettingsActions.resetProgress(this, () -> {
+                           if (binding != null) {
+                               updateProgressDisplay();
                            }
-                       })
+                       }))
                        .setNegativeButton("Batal", null)
                        .show();
             }
@@ -8,6 +8,8 @@ import android.widget.Button;
 import android.widget.Toast;
 import android.app.AlertDialog;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
@@ -19,6 +21,10 @@ import com.codelearn.android.R;
  */
 public class SimpleSettingsFragment extends Fragment {
 
+    private final ActivityResultLauncher<String[]> importContentLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(),
+                    uri -> SettingsActions.importContent(this, uri));
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
@@ -52,6 +58,13 @@ public class SimpleSettingsFragment extends Fragment {
             textSizeButton.setOnClickListener(v -> showTextSizeDialog());
         }
 
+        // Import content pack button
+        Button importContentButton = rootView.findViewById(R.id.btn_import_content);
+        if (importContentButton != null) {
+            importContentButton.setOnClickListener(v ->
+                    importContentLauncher.launch(SettingsActions.CONTENT_MIME_TYPES));
+        }
+
         // Reset progress button
         Button resetProgressButton = rootView.findViewById(R.id.btn_reset_progress);
         if (resetProgressButton != null) {
@@ -108,9 +121,7 @@ public class SimpleSettingsFragment extends Fragment {
         new AlertDialog.Builder(getContext())
                 .setTitle("Reset Progress")
                 .setMessage("Apakah Anda yakin ingin mereset semua progress belajar? Tindakan ini tidak dapat dibatalkan.")
-                .setPositiveButton("Reset", (dialog, which) -> {
-                    Toast.makeText(getContext(), "Progress berhasil direset", Toast.LENGTH_SHORT).show();
-                })
+                .setPositiveButton("Reset", (dialog, which) -> SettingsActions.resetProgress(this, null))
                 .setNegativeButton("Batal", null)
                 .show();
     }
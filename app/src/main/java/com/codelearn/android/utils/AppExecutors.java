@@ -12,17 +12,22 @@ import java.util.concurrent.ScheduledExecutorService;
 public class AppExecutors {
 
     private static final int THREAD_COUNT = 3;
+    // Leaves a core for the main thread, capped so list diffs never crowd out IO
+    private static final int COMPUTE_THREAD_COUNT =
+            Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
 
     private final Executor diskIO;
     private final Executor networkIO;
     private final Executor mainThread;
+    private final Executor compute;
     private final ScheduledExecutorService scheduledExecutor;
 
-    private AppExecutors(Executor diskIO, Executor networkIO, Executor mainThread,
+    private AppExecutors(Executor diskIO, Executor networkIO, Executor mainThread, Executor compute,
                         ScheduledExecutorService scheduledExecutor) {
         this.diskIO = diskIO;
         this.networkIO = networkIO;
         this.mainThread = mainThread;
+        this.compute = compute;
         this.scheduledExecutor = scheduledExecutor;
     }
 
@@ -58,6 +63,14 @@ public class AppExecutors {
         return mainThread;
     }
 
+    /**
+     * Bounded executor for CPU-bound work such as list diffing
+     * @return compute executor
+     */
+    public Executor compute() {
+        return compute;
+    }
+
     /**
      * Scheduled executor for delayed operations
      * @return scheduled executor
@@ -116,6 +129,7 @@ public class AppExecutors {
                 Executors.newSingleThreadExecutor(), // Disk IO - single thread to avoid concurrency issues
                 Executors.newFixedThreadPool(THREAD_COUNT), // Network - multiple threads for parallel requests
                 new MainThreadExecutor(), // Main thread - posts to Android main looper
+                Executors.newFixedThreadPool(COMPUTE_THREAD_COUNT), // Compute - shared by all list differs
                 Executors.newSingleThreadScheduledExecutor() // Scheduled executor for delayed tasks
         );
     }
@@ -9,6 +9,9 @@ public class Constants {
     public static final String ARG_COURSE_ID = "course_id";
     public static final String ARG_LESSON_ID = "lesson_id";
     public static final String ARG_USER_ID = "user_id";
+    public static final String ARG_ANCHOR_SECTION = "anchor_section";
+    public static final String ARG_HIGHLIGHT_QUERY = "highlight_query";
+    public static final String ARG_SCROLL_Y = "scroll_y";
 
     // Preferences
     public static final String PREF_NAME = "codelearn_prefs";
@@ -16,10 +19,21 @@ public class Constants {
     public static final String PREF_USER_NAME = "user_name";
     public static final String PREF_USER_EMAIL = "user_email";
     public static final String PREF_IS_LOGGED_IN = "is_logged_in";
+    public static final String PREF_CONTENT_MANIFEST_VERSION = "content_manifest_version";
+
+    // Content
+    public static final String CONTENT_MANIFEST_PATH = "content/manifest.json";
+    public static final String CONTENT_PACK_DIR = "content";
+    public static final String CONTENT_UPDATES_DIR = "content-updates";
     
+    // Progress
+    public static final String PROGRESS_JOURNAL_FILE = "progress.journal";
+    public static final String RESUME_POINTS_FILE = "resume_points.bin";
+    public static final int XP_PER_LESSON = 10;
+
     // Database
     public static final String DATABASE_NAME = "codelearn_database";
-    public static final int DATABASE_VERSION = 1;
+    public static final int DATABASE_VERSION = 7;
 
     // API endpoints
     public static final String BASE_URL = "https://api.codelearn.com/";
@@ -0,0 +1,54 @@
+package com.codelearn.android.utils;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+
+import kotlinx.coroutines.CoroutineDispatcher;
+import kotlinx.coroutines.ExecutorsKt;
+
+/**
+ * Differ configuration shared by every list adapter
+ *
+ * Without an explicit executor each AsyncListDiffer falls back to a private diff thread pool.
+ * Routing all diffs through the compute pool keeps the thread count bounded app-wide.
+ */
+public final class DiffConfigs {
+
+    private static volatile CoroutineDispatcher workerDispatcher;
+
+    private DiffConfigs() {
+    }
+
+    /**
+     * Build a differ config that computes diffs on AppExecutors.compute()
+     * @param diffCallback item comparison of the adapter
+     * @return config to pass to the ListAdapter constructor
+     */
+    @NonNull
+    public static <T> AsyncDifferConfig<T> create(@NonNull DiffUtil.ItemCallback<T> diffCallback) {
+        return new AsyncDifferConfig.Builder<>(diffCallback)
+                .setBackgroundThreadExecutor(AppExecutors.getInstance().compute())
+                .build();
+    }
+
+    /**
+     * Dispatcher over AppExecutors.compute() for adapters that take a coroutine dispatcher,
+     * such as PagingDataAdapter
+     * @return shared worker dispatcher
+     */
+    @NonNull
+    public static CoroutineDispatcher workerDispatcher() {
+        CoroutineDispatcher dispatcher = workerDispatcher;
+        if (dispatcher == null) {
+            synchronized (DiffConfigs.class) {
+                dispatcher = workerDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = ExecutorsKt.from(AppExecutors.getInstance().compute());
+                    workerDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+}
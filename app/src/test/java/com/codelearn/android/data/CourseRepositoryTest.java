@@ -0,0 +1,168 @@
+package com.codelearn.android.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.SharedPreferences;
+
+import com.codelearn.android.data.content.ContentManifest;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.CourseDao;
+import com.codelearn.android.data.database.CourseEntity;
+import com.codelearn.android.data.database.ProgressDao;
+import com.codelearn.android.data.database.ProgressEntity;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.utils.AppExecutors;
+import com.codelearn.android.utils.Constants;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Unit tests for loading the course catalog through CourseRepository
+ * Disk IO tasks are queued and run by the test, so each step is explicit.
+ */
+public class CourseRepositoryTest {
+
+    private static final int COURSE_COUNT = 200;
+    private static final int MANIFEST_VERSION = 7;
+
+    private final Queue<Runnable> diskTasks = new ArrayDeque<>();
+
+    private ContentManifest contentManifest;
+    private CourseDao courseDao;
+    private CourseRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        AppExecutors appExecutors = mock(AppExecutors.class);
+        when(appExecutors.diskIO()).thenReturn(diskTasks::add);
+
+        // The manifest is unchanged since the last sync, so the catalog is read from the database
+        contentManifest = mock(ContentManifest.class);
+        when(contentManifest.readVersion()).thenReturn(MANIFEST_VERSION);
+        SharedPreferences preferences = mock(SharedPreferences.class);
+        when(preferences.getInt(Constants.PREF_CONTENT_MANIFEST_VERSION, -1)).thenReturn(MANIFEST_VERSION);
+
+        List<CourseEntity> rows = new ArrayList<>(COURSE_COUNT);
+        for (int id = 1; id <= COURSE_COUNT; id++) {
+            Course course = new Course("Kursus " + id, "Deskripsi kursus " + id, "HTML", 1, 60, null);
+            course.setId(id);
+            rows.add(CourseEntity.fromCourse(course));
+        }
+        courseDao = mock(CourseDao.class);
+        when(courseDao.count()).thenReturn(COURSE_COUNT);
+        when(courseDao.getAll()).thenReturn(rows);
+        ProgressDao progressDao = mock(ProgressDao.class);
+        when(progressDao.getAll()).thenReturn(Collections.emptyList());
+        AppDatabase database = mock(AppDatabase.class);
+        when(database.courseDao()).thenReturn(courseDao);
+        when(database.progressDao()).thenReturn(progressDao);
+
+        repository = new CourseRepository(database, contentManifest, preferences, appExecutors);
+    }
+
+    @Test
+    public void getCourses_buildsCatalogOnceForConcurrentCallers() throws Exception {
+        Result first = new Result();
+        Result second = new Result();
+
+        repository.getCourses(first);
+        repository.getCourses(second);
+
+        assertEquals(1, diskTasks.size());
+        assertFalse(repository.isCatalogLoaded());
+        runDiskTasks();
+
+        assertEquals(COURSE_COUNT, first.courses.size());
+        assertSame(first.courses, second.courses);
+        verify(courseDao, times(1)).getAll();
+        verify(contentManifest, never()).readCourseHeaders();
+    }
+
+    @Test
+    public void getCourses_afterFirstLoad_answersOnCallingThread() {
+        repository.getCourses(new Result());
+        runDiskTasks();
+
+        Result warm = new Result();
+        repository.getCourses(warm);
+
+        assertTrue(repository.isCatalogLoaded());
+        assertTrue(diskTasks.isEmpty());
+        assertEquals(COURSE_COUNT, warm.courses.size());
+        verify(courseDao, times(1)).getAll();
+    }
+
+    @Test
+    public void getCourseById_resolvesLoadedCatalog() {
+        repository.getCourses(new Result());
+        runDiskTasks();
+
+        assertNotNull(repository.getCourseById(COURSE_COUNT));
+        assertEquals("Kursus 1", repository.getCourseById(1).getTitle());
+    }
+
+    @Test
+    public void applyProgress_publishesCopiesWithoutTouchingSharedCourses() {
+        Result loaded = new Result();
+        repository.getCourses(loaded);
+        runDiskTasks();
+        Course before = repository.getCourseById(5);
+        List<List<Course>> published = new ArrayList<>();
+        repository.addCatalogListener(published::add);
+
+        ProgressEntity progress = new ProgressEntity(5);
+        progress.setCompletedLessons(1);
+        progress.setCurrentLesson("02_tag.html");
+        repository.applyProgress(Collections.singletonList(progress));
+
+        Course after = repository.getCourseById(5);
+        assertNotSame(before, after);
+        assertEquals(0, before.getCompletedLessons());
+        assertEquals(1, after.getCompletedLessons());
+        assertEquals("02_tag.html", after.getCurrentLesson());
+        assertSame(repository.getCourseById(6), loaded.courses.get(5));
+        assertEquals(1, published.size());
+        assertSame(after, published.get(0).get(4));
+        assertNotSame(loaded.courses, published.get(0));
+    }
+
+    // ==================== HELPERS ====================
+
+    private void runDiskTasks() {
+        Runnable task;
+        while ((task = diskTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static class Result implements CourseRepository.LoadCoursesCallback {
+        List<Course> courses;
+
+        @Override
+        public void onCoursesLoaded(List<Course> courses) {
+            this.courses = courses;
+        }
+
+        @Override
+        public void onDataNotAvailable(Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.codelearn.android.data.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Unit tests for ContentPatch, applied to content packs written to local files
+ */
+public class ContentPatchTest {
+
+    private static final int BASE_VERSION = 3;
+    private static final int TARGET_VERSION = 4;
+
+    private static final String INDEX = "content/index.json";
+    private static final String HTML_INTRO = "content/html/01_pengenalan.html";
+    private static final String CSS_INTRO = "content/css/01_selector.html";
+    private static final String JS_INTRO = "content/js/01_variabel.html";
+
+    private static final byte OP_REMOVE = 0;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELTA = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ContentPack base;
+
+    @Before
+    public void setUp() throws IOException {
+        ContentPackWriter writer = new ContentPackWriter(BASE_VERSION);
+        put(writer, INDEX, "{\"version\":3}");
+        put(writer, HTML_INTRO, "<h1>Pengenalan HTML</h1><p>Tag dasar</p>");
+        put(writer, CSS_INTRO, "<h1>Selector</h1>");
+        File file = folder.newFile("base.pack");
+        writer.writeTo(file);
+        base = ContentPack.open(file);
+    }
+
+    @Test
+    public void apply_rebuildsTargetPack() throws IOException {
+        String html = "<h1>Pengenalan HTML5</h1><p>Tag dasar</p>";
+        PatchBuilder patch = new PatchBuilder(BASE_VERSION, TARGET_VERSION)
+                .put(INDEX, "{\"version\":4}")
+                .put(JS_INTRO, "<h1>Variabel</h1>")
+                .remove(CSS_INTRO)
+                // "<h1>Pengenalan HTML" + "5" + "</h1><p>Tag dasar</p>" from the base
+                .delta(HTML_INTRO, text(base, HTML_INTRO), html, new Delta()
+                        .copy(0, 19)
+                        .insert("5")
+                        .copy(19, 21));
+
+        ContentPack target = write(ContentPatch.parse(patch.build()).apply(base));
+
+        assertEquals(TARGET_VERSION, target.getContentVersion());
+        assertEquals(new HashSet<>(Arrays.asList(INDEX, HTML_INTRO, JS_INTRO)), target.getAssetPaths());
+        assertEquals("{\"version\":4}", text(target, INDEX));
+        assertEquals(html, text(target, HTML_INTRO));
+        assertEquals("<h1>Variabel</h1>", text(target, JS_INTRO));
+        assertFalse(target.contains(CSS_INTRO));
+        assertEquals(ContentPack.toHex(sha256(html)), target.getSha256(HTML_INTRO));
+    }
+
+    @Test
+    public void apply_carriesOverUnlistedEntries() throws IOException {
+        PatchBuilder patch = new PatchBuilder(BASE_VERSION, TARGET_VERSION).put(INDEX, "{\"version\":4}");
+
+        ContentPack target = write(ContentPatch.parse(patch.build()).apply(base));
+
+        assertEquals(text(base, HTML_INTRO), text(target, HTML_INTRO));
+        assertEquals(base.getSha256(CSS_INTRO), target.getSha256(CSS_INTRO));
+    }
+
+    @Test
+    public void apply_rejectsOtherBaseVersion() throws IOException {
+        ContentPatch patch = ContentPatch.parse(new PatchBuilder(BASE_VERSION + 1, TARGET_VERSION).build());
+
+        assertFails(patch);
+    }
+
+    @Test
+    public void apply_rejectsDeltaAgainstChangedBaseEntry() throws IOException {
+        PatchBuilder patch = new PatchBuilder(BASE_VERSION, TARGET_VERSION)
+                .delta(CSS_INTRO, "<h1>Selector lama</h1>", "<h1>Selector</h1>!", new Delta()
+                        .copy(0, 17)
+                        .insert("!"));
+
+        assertFails(ContentPatch.parse(patch.build()));
+    }
+
+    @Test
+    public void apply_rejectsEntryWithWrongHash() throws IOException {
+        PatchBuilder patch = new PatchBuilder(BASE_VERSION, TARGET_VERSION)
+                .putWithHash(JS_INTRO, "<h1>Variabel</h1>", sha256("sesuatu yang lain"));
+
+        assertFails(ContentPatch.parse(patch.build()));
+    }
+
+    @Test
+    public void apply_rejectsDeltaCopyOutOfBounds() throws IOException {
+        String css = text(base, CSS_INTRO);
+        PatchBuilder patch = new PatchBuilder(BASE_VERSION, TARGET_VERSION)
+                .delta(CSS_INTRO, css, css, new Delta().copy(4, css.length()));
+
+        assertFails(ContentPatch.parse(patch.build()));
+    }
+
+    @Test(expected = IOException.class)
+    public void parse_rejectsTruncatedPatch() throws IOException {
+        ByteBuffer patch = new PatchBuilder(BASE_VERSION, TARGET_VERSION).put(INDEX, "{}").build();
+        patch.limit(patch.limit() - 1);
+
+        ContentPatch.parse(patch);
+    }
+
+    @Test(expected = IOException.class)
+    public void parse_rejectsOtherFiles() throws IOException {
+        ContentPatch.parse(ByteBuffer.wrap("not a patch at all".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // ==================== HELPERS ====================
+
+    private ContentPack write(ContentPackWriter writer) throws IOException {
+        File file = folder.newFile();
+        writer.writeTo(file);
+        return ContentPack.open(file);
+    }
+
+    private void assertFails(ContentPatch patch) {
+        try {
+            patch.apply(base);
+            fail("Patch should not apply");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage() != null);
+        }
+    }
+
+    private static void put(ContentPackWriter writer, String path, String text) {
+        byte[] data = text.getBytes(StandardCharsets.UTF_8);
+        writer.put(path, ByteBuffer.wrap(data), sha256(text));
+    }
+
+    private static String text(ContentPack pack, String path) {
+        ByteBuffer slice = pack.slice(path);
+        byte[] data = new byte[slice.remaining()];
+        slice.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(String text) {
+        return ContentPackInstaller.newSha256().digest(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the patch layout documented on ContentPatch
+     */
+    private static class PatchBuilder {
+        private final ByteArrayOutputStream operations = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(operations);
+        private final int baseVersion;
+        private final int targetVersion;
+        private int count;
+
+        PatchBuilder(int baseVersion, int targetVersion) {
+            this.baseVersion = baseVersion;
+            this.targetVersion = targetVersion;
+        }
+
+        PatchBuilder put(String path, String text) throws IOException {
+            return putWithHash(path, text, sha256(text));
+        }
+
+        PatchBuilder putWithHash(String path, String text, byte[] sha256) throws IOException {
+            byte[] data = text.getBytes(StandardCharsets.UTF_8);
+            header(path, OP_PUT);
+            out.writeInt(data.length);
+            out.write(sha256);
+            out.write(data);
+            return this;
+        }
+
+        PatchBuilder remove(String path) throws IOException {
+            header(path, OP_REMOVE);
+            return this;
+        }
+
+        PatchBuilder delta(String path, String baseText, String targetText, Delta delta) throws IOException {
+            byte[] instructions = delta.toByteArray();
+            header(path, OP_DELTA);
+            out.writeInt(targetText.getBytes(StandardCharsets.UTF_8).length);
+            out.write(sha256(targetText));
+            out.write(sha256(baseText));
+            out.writeInt(instructions.length);
+            out.write(instructions);
+            return this;
+        }
+
+        ByteBuffer build() throws IOException {
+            ByteArrayOutputStream patch = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(patch);
+            header.writeInt(ContentPatch.MAGIC);
+            header.writeInt(ContentPatch.FORMAT_VERSION);
+            header.writeInt(baseVersion);
+            header.writeInt(targetVersion);
+            header.writeInt(count);
+            out.flush();
+            operations.writeTo(patch);
+            return ByteBuffer.wrap(patch.toByteArray());
+        }
+
+        private void header(String path, byte type) throws IOException {
+            byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+            out.writeByte(type);
+            count++;
+        }
+    }
+
+    /**
+     * Delta instructions: COPY from the base entry or INSERT literal bytes
+     */
+    private static class Delta {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        Delta copy(int offset, int length) throws IOException {
+            out.writeByte(0);
+            out.writeInt(offset);
+            out.writeInt(length);
+            return this;
+        }
+
+        Delta insert(String text) throws IOException {
+            byte[] data = text.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(1);
+            out.writeInt(data.length);
+            out.write(data);
+            return this;
+        }
+
+        byte[] toByteArray() throws IOException {
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+}
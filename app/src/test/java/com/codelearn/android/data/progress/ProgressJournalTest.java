@@ -0,0 +1,155 @@
+package com.codelearn.android.data.progress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.codelearn.android.data.database.ProgressEntity;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the progress journal and its ProgressDelta lines
+ */
+public class ProgressJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private ProgressJournal journal;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "progress.journal");
+        journal = new ProgressJournal(file);
+    }
+
+    // ==================== JOURNAL LINES ====================
+
+    @Test
+    public void journalLine_roundTripsEveryField() {
+        ProgressDelta delta = delta(7, "03_atribut.html", 1_700_000_000_000L, 3, 90_000L);
+        long[] seq = new long[1];
+
+        ProgressDelta parsed = ProgressDelta.fromJournalLine(delta.toJournalLine(42), seq);
+
+        assertEquals(42, seq[0]);
+        assertEquals(7, parsed.courseId);
+        assertEquals("03_atribut.html", parsed.currentLesson);
+        assertEquals(1_700_000_000_000L, parsed.lastAccessDate);
+        assertEquals(3, parsed.completedLessons);
+        assertEquals(90_000L, parsed.millisSpent);
+    }
+
+    @Test
+    public void journalLine_roundTripsMissingLesson() {
+        ProgressDelta delta = delta(7, null, 0, 0, 5_000L);
+
+        ProgressDelta parsed = ProgressDelta.fromJournalLine(delta.toJournalLine(1), new long[1]);
+
+        assertNull(parsed.currentLesson);
+        assertEquals(5_000L, parsed.millisSpent);
+    }
+
+    @Test
+    public void journalLine_rejectsTornAndMalformedLines() {
+        String line = delta(7, "01_pengenalan.html", 1L, 1, 1L).toJournalLine(9);
+
+        assertNull(ProgressDelta.fromJournalLine(line.substring(0, 6), new long[1]));
+        assertNull(ProgressDelta.fromJournalLine("x\t7\t1\t1\t1\ta.html", new long[1]));
+    }
+
+    @Test
+    public void merge_keepsLatestLessonHighestCountAndSumOfTime() {
+        ProgressDelta older = delta(7, "02_tag.html", 100L, 2, 1_000L);
+        older.merge(delta(7, null, 200L, 1, 500L));
+
+        assertEquals("02_tag.html", older.currentLesson);
+        assertEquals(200L, older.lastAccessDate);
+        assertEquals(2, older.completedLessons);
+        assertEquals(1_500L, older.millisSpent);
+    }
+
+    @Test
+    public void applyTo_awardsExperienceOnlyForNewlyCompletedLessons() {
+        ProgressEntity row = new ProgressEntity(7);
+        row.setCompletedLessons(2);
+
+        delta(7, "04_form.html", 100L, 4, 120_000L).applyTo(row, 10);
+
+        assertEquals(4, row.getCompletedLessons());
+        assertEquals(20, row.getExperiencePoints());
+        assertEquals("04_form.html", row.getCurrentLesson());
+        assertEquals(2, row.getTotalMinutesSpent());
+    }
+
+    // ==================== JOURNAL FILE ====================
+
+    @Test
+    public void readAll_returnsAppendedLinesInOrder() throws Exception {
+        journal.append(Arrays.asList("a", "b"));
+        journal.append(Collections.singletonList("c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), journal.readAll());
+    }
+
+    @Test
+    public void readAll_withoutFile_isEmpty() throws Exception {
+        assertTrue(journal.readAll().isEmpty());
+    }
+
+    @Test
+    public void clear_deletesJournal() throws Exception {
+        journal.append(Collections.singletonList("a"));
+
+        journal.clear();
+
+        assertFalse(file.exists());
+        assertTrue(journal.readAll().isEmpty());
+    }
+
+    @Test
+    public void journal_roundTripsDeltasAndDropsTornTail() throws Exception {
+        journal.append(Arrays.asList(
+                delta(1, "01_pengenalan.html", 100L, 1, 0).toJournalLine(1),
+                delta(2, "02_selector.html", 200L, 0, 30_000L).toJournalLine(2)));
+        // A crash in the middle of a write leaves a partial last line
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("3\t1\t30".getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<String> lines = journal.readAll();
+        long[] seq = new long[1];
+
+        assertEquals(3, lines.size());
+        assertEquals("01_pengenalan.html", ProgressDelta.fromJournalLine(lines.get(0), seq).currentLesson);
+        assertEquals(1, seq[0]);
+        assertEquals(30_000L, ProgressDelta.fromJournalLine(lines.get(1), seq).millisSpent);
+        assertEquals(2, seq[0]);
+        assertNull(ProgressDelta.fromJournalLine(lines.get(2), seq));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static ProgressDelta delta(int courseId, String lesson, long lastAccessDate,
+                                       int completedLessons, long millisSpent) {
+        ProgressDelta delta = new ProgressDelta(courseId);
+        delta.currentLesson = lesson;
+        delta.lastAccessDate = lastAccessDate;
+        delta.completedLessons = completedLessons;
+        delta.millisSpent = millisSpent;
+        return delta;
+    }
+}
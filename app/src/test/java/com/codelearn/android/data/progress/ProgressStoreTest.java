@@ -0,0 +1,224 @@
+package com.codelearn.android.data.progress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.data.database.AppDatabase;
+import com.codelearn.android.data.database.CourseDao;
+import com.codelearn.android.data.database.LearningStatsDao;
+import com.codelearn.android.data.database.ProgressDao;
+import com.codelearn.android.data.database.ProgressEntity;
+import com.codelearn.android.utils.AppExecutors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Unit tests for ProgressStore journal replay and flushing
+ * Executors run inline, so recover() and flush() finish before they return.
+ */
+public class ProgressStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ProgressDao progressDao;
+    private CourseRepository courseRepository;
+    private AppExecutors appExecutors;
+    private AchievementEngine achievementEngine;
+    private File journalFile;
+    private ProgressJournal journal;
+    private ProgressStore store;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        AppDatabase database = mock(AppDatabase.class);
+        progressDao = mock(ProgressDao.class);
+        when(database.progressDao()).thenReturn(progressDao);
+        when(database.courseDao()).thenReturn(mock(CourseDao.class));
+        when(database.learningStatsDao()).thenReturn(mock(LearningStatsDao.class));
+        when(database.runInTransaction(any(Callable.class)))
+                .thenAnswer(invocation -> invocation.<Callable<?>>getArgument(0).call());
+
+        appExecutors = mock(AppExecutors.class);
+        when(appExecutors.diskIO()).thenReturn(Runnable::run);
+
+        achievementEngine = mock(AchievementEngine.class);
+        journalFile = new File(folder.getRoot(), "progress.journal");
+        journal = new ProgressJournal(journalFile);
+        courseRepository = mock(CourseRepository.class);
+        store = new ProgressStore(database, journal, courseRepository, appExecutors,
+                new LearningStatsEngine(database, appExecutors), achievementEngine);
+    }
+
+    // ==================== RECOVERY ====================
+
+    @Test
+    public void recover_replaysRecordsNewerThanTheirRow() throws Exception {
+        ProgressEntity stored = new ProgressEntity(1);
+        stored.setCompletedLessons(2);
+        stored.setJournalSeq(5);
+        when(progressDao.getForCourse(1)).thenReturn(stored);
+        journal.append(Arrays.asList(
+                line(4, 1, null, 3),                  // already committed
+                line(6, 1, "04_form.html", 4),
+                line(7, 2, "01_pengenalan.html", 0),
+                "8\t2\t17"));                          // torn by the crash
+
+        store.recover();
+
+        Map<Integer, ProgressEntity> rows = capturedRows();
+        assertEquals(2, rows.size());
+        assertEquals(4, rows.get(1).getCompletedLessons());
+        assertEquals("04_form.html", rows.get(1).getCurrentLesson());
+        assertEquals(6, rows.get(1).getJournalSeq());
+        assertEquals("01_pengenalan.html", rows.get(2).getCurrentLesson());
+        assertEquals(7, rows.get(2).getJournalSeq());
+        assertFalse(journalFile.exists());
+        verify(achievementEngine).onProgress(any());
+    }
+
+    @Test
+    public void recover_skipsRecordsAlreadyCommitted() throws Exception {
+        ProgressEntity stored = new ProgressEntity(1);
+        stored.setCompletedLessons(4);
+        stored.setJournalSeq(9);
+        when(progressDao.getForCourse(1)).thenReturn(stored);
+        journal.append(Arrays.asList(line(8, 1, "02_tag.html", 2), line(9, 1, "04_form.html", 4)));
+
+        store.recover();
+
+        ProgressEntity row = capturedRows().get(1);
+        assertEquals(4, row.getCompletedLessons());
+        assertNull(row.getCurrentLesson());
+        assertEquals(9, row.getJournalSeq());
+    }
+
+    @Test
+    public void flush_afterRecovery_continuesSequence() throws Exception {
+        when(progressDao.getMaxJournalSeq()).thenReturn(3L);
+        journal.append(Arrays.asList(line(7, 2, "01_pengenalan.html", 0)));
+        store.recover();
+
+        store.onLessonOpened(2, "02_tag.html");
+        store.flush();
+
+        List<ProgressEntity> flushed = allCapturedRows(2).get(1);
+        assertEquals(1, flushed.size());
+        assertEquals("02_tag.html", flushed.get(0).getCurrentLesson());
+        assertEquals(8, flushed.get(0).getJournalSeq());
+        assertFalse(journalFile.exists());
+    }
+
+    // ==================== FLUSH FAILURES ====================
+
+    @Test
+    public void flush_whenCommitFails_keepsJournalAndReschedules() throws Exception {
+        doThrow(new IllegalStateException("disk full")).when(progressDao).upsertAll(anyList());
+
+        store.onLessonCompleted(3, 0);
+        store.flush();
+
+        List<String> lines = journal.readAll();
+        assertEquals(1, lines.size());
+        assertEquals(3, ProgressDelta.fromJournalLine(lines.get(0), new long[1]).courseId);
+        // Once from the record, once more for the retry
+        verify(appExecutors, times(2)).scheduleDelayed(any(Runnable.class), eq(ProgressStore.FLUSH_DELAY_MS));
+        verify(achievementEngine, never()).onProgress(any());
+        verify(courseRepository, never()).applyProgress(anyList());
+    }
+
+    @Test
+    public void flush_whenPublishFails_appliesDeltasOnce() throws Exception {
+        doThrow(new IllegalStateException("rule failed")).when(achievementEngine).onProgress(any());
+
+        store.onTimeSpent(3, 120_000);
+        store.flush();
+        // Nothing may be left to commit again
+        store.flush();
+
+        List<ProgressEntity> flushed = allCapturedRows(1).get(0);
+        assertEquals(1, flushed.size());
+        assertEquals(120_000, flushed.get(0).getTotalMillisSpent());
+        assertEquals(2, flushed.get(0).getTotalMinutesSpent());
+        assertFalse(journalFile.exists());
+        // Only the flush scheduled by the record, no retry
+        verify(appExecutors, times(1)).scheduleDelayed(any(Runnable.class), eq(ProgressStore.FLUSH_DELAY_MS));
+    }
+
+    @Test
+    public void flush_publishesCommittedRowsToCatalog() throws Exception {
+        store.onLessonOpened(2, "02_tag.html");
+        store.flush();
+
+        List<ProgressEntity> committed = allCapturedRows(1).get(0);
+        verify(courseRepository).applyProgress(committed);
+    }
+
+    @Test
+    public void flush_whenJournalFails_journalsDeltasOnNextFlush() throws Exception {
+        assertTrue(journalFile.mkdir()); // appending to a directory fails
+        store.onLessonCompleted(3, 1);
+        store.flush();
+
+        // The retry journals the delta again before it tries the database
+        assertTrue(journalFile.delete());
+        doThrow(new IllegalStateException("disk full")).when(progressDao).upsertAll(anyList());
+        store.flush();
+
+        List<String> lines = journal.readAll();
+        assertEquals(1, lines.size());
+        ProgressDelta journaled = ProgressDelta.fromJournalLine(lines.get(0), new long[1]);
+        assertEquals(3, journaled.courseId);
+        assertEquals(2, journaled.completedLessons);
+    }
+
+    // ==================== HELPERS ====================
+
+    private static String line(long seq, int courseId, String lesson, int completedLessons) {
+        ProgressDelta delta = new ProgressDelta(courseId);
+        delta.currentLesson = lesson;
+        delta.completedLessons = completedLessons;
+        delta.lastAccessDate = 1_700_000_000_000L + seq;
+        return delta.toJournalLine(seq);
+    }
+
+    private Map<Integer, ProgressEntity> capturedRows() {
+        Map<Integer, ProgressEntity> byCourse = new HashMap<>();
+        for (ProgressEntity row : allCapturedRows(1).get(0)) {
+            byCourse.put(row.getCourseId(), row);
+        }
+        return byCourse;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ProgressEntity>> allCapturedRows(int commits) {
+        ArgumentCaptor<List<ProgressEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(progressDao, times(commits)).upsertAll(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+}
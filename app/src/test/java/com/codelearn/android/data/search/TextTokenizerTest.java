@@ -0,0 +1,75 @@
+package com.codelearn.android.data.search;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for TextTokenizer
+ */
+public class TextTokenizerTest {
+
+    // ==================== TOKENIZE ====================
+
+    @Test
+    public void tokenize_splitsOnNonWordCharactersAndLowercases() {
+        assertEquals(Arrays.asList("belajar", "html", "css", "dan", "js"),
+                TextTokenizer.tokenize("Belajar HTML/CSS dan JS!"));
+    }
+
+    @Test
+    public void tokenize_dropsSingleCharacterTerms() {
+        assertEquals(Arrays.asList("tag", "h1"), TextTokenizer.tokenize("a tag h1 b"));
+    }
+
+    // ==================== STEM ====================
+
+    @Test
+    public void stem_removesPrefixesAndSuffixes() {
+        assertEquals("kenal", TextTokenizer.stem("pengenalan"));
+        assertEquals("kenal", TextTokenizer.stem("mengenal"));
+        assertEquals("tulis", TextTokenizer.stem("menulis"));
+        assertEquals("buat", TextTokenizer.stem("dibuat"));
+        assertEquals("main", TextTokenizer.stem("permainan"));
+        assertEquals("sedia", TextTokenizer.stem("tersedia"));
+        assertEquals("guna", TextTokenizer.stem("menggunakan"));
+        assertEquals("tampil", TextTokenizer.stem("tampilkan"));
+    }
+
+    @Test
+    public void stem_keepsRootsThatWouldBecomeTooShort() {
+        assertEquals("kelas", TextTokenizer.stem("kelas"));
+        assertEquals("kelas", TextTokenizer.stem("kelasnya"));
+        assertEquals("jalan", TextTokenizer.stem("berjalan"));
+    }
+
+    @Test
+    public void stem_keepsTechnicalVocabulary() {
+        assertEquals("selector", TextTokenizer.stem("selector"));
+        assertEquals("method", TextTokenizer.stem("method"));
+        assertEquals("default", TextTokenizer.stem("default"));
+        assertEquals("terminal", TextTokenizer.stem("terminal"));
+        assertEquals("memory", TextTokenizer.stem("memory"));
+    }
+
+    @Test
+    public void stem_rejectsRootsWithoutIndonesianShape() {
+        assertEquals("server", TextTokenizer.stem("server"));
+        assertEquals("session", TextTokenizer.stem("session"));
+        assertEquals("keyword", TextTokenizer.stem("keyword"));
+    }
+
+    @Test
+    public void stem_allowsLoanwordConsonantClusters() {
+        assertEquals("struktur", TextTokenizer.stem("terstruktur"));
+    }
+
+    @Test
+    public void stem_leavesShortAndNonAlphabeticTermsAlone() {
+        assertEquals("kunci", TextTokenizer.stem("kunci"));
+        assertEquals("h1", TextTokenizer.stem("h1"));
+        assertEquals("utf8", TextTokenizer.stem("utf8"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.codelearn.android.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit tests for LessonNavigator
+ */
+public class LessonNavigatorTest {
+
+    private final LessonNavigator navigator = new LessonNavigator(
+            Arrays.asList("01_pengenalan.html", "02_tag.html", "03_atribut.html"));
+
+    @Test
+    public void indexOf_returnsPositionOrNotFound() {
+        assertEquals(0, navigator.indexOf("01_pengenalan.html"));
+        assertEquals(2, navigator.indexOf("03_atribut.html"));
+        assertEquals(LessonNavigator.NOT_FOUND, navigator.indexOf("99_tidak_ada.html"));
+        assertEquals(LessonNavigator.NOT_FOUND, navigator.indexOf(null));
+    }
+
+    @Test
+    public void indexOf_keepsFirstPositionOfDuplicate() {
+        LessonNavigator withDuplicate = new LessonNavigator(Arrays.asList("a.html", "b.html", "a.html"));
+
+        assertEquals(0, withDuplicate.indexOf("a.html"));
+    }
+
+    @Test
+    public void getLesson_returnsNullOutOfRange() {
+        assertEquals("02_tag.html", navigator.getLesson(1));
+        assertNull(navigator.getLesson(-1));
+        assertNull(navigator.getLesson(3));
+    }
+
+    @Test
+    public void getNext_startsAtFirstLessonAndStopsAtEnd() {
+        assertEquals("01_pengenalan.html", navigator.getNext(null));
+        assertEquals("01_pengenalan.html", navigator.getNext(""));
+        assertEquals("02_tag.html", navigator.getNext("01_pengenalan.html"));
+        assertNull(navigator.getNext("03_atribut.html"));
+        assertNull(navigator.getNext("99_tidak_ada.html"));
+    }
+
+    @Test
+    public void getPrevious_stopsAtStart() {
+        assertEquals("02_tag.html", navigator.getPrevious("03_atribut.html"));
+        assertNull(navigator.getPrevious("01_pengenalan.html"));
+        assertNull(navigator.getPrevious("99_tidak_ada.html"));
+    }
+
+    @Test
+    public void hasNextAndHasPrevious_respectBounds() {
+        assertTrue(navigator.hasNext(0));
+        assertFalse(navigator.hasNext(2));
+        assertFalse(navigator.hasNext(LessonNavigator.NOT_FOUND));
+
+        assertTrue(navigator.hasPrevious(2));
+        assertFalse(navigator.hasPrevious(0));
+        assertFalse(navigator.hasPrevious(3));
+    }
+
+    @Test
+    public void emptySequence_hasNoLessons() {
+        LessonNavigator empty = new LessonNavigator(Collections.emptyList());
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertNull(empty.getNext(null));
+        assertFalse(empty.hasNext(0));
+    }
+}
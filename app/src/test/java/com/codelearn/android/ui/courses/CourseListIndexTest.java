@@ -0,0 +1,111 @@
+package com.codelearn.android.ui.courses;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.codelearn.android.model.Course;
+import com.codelearn.android.ui.courses.CourseListViewModel.FilterType;
+import com.codelearn.android.ui.courses.CourseListViewModel.SortType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for CourseListIndex
+ */
+public class CourseListIndexTest {
+
+    private final List<Course> catalog = Collections.unmodifiableList(Arrays.asList(
+            course(4, "JavaScript Dasar", "JavaScript", 2),
+            course(1, "HTML Dasar", "HTML", 1),
+            course(3, "CSS Layout", "CSS", 2),
+            course(2, "CSS Dasar", "CSS", 1),
+            course(5, "HTML Lanjutan", "HTML", 3),
+            course(6, "Git", "Tools", 1)));
+
+    private final CourseListIndex index = CourseListIndex.build(catalog);
+
+    // ==================== SORT ====================
+
+    @Test
+    public void all_sortedByTitle() {
+        assertArrayEquals(new int[]{2, 3, 6, 1, 5, 4}, index.get(FilterType.ALL, SortType.TITLE));
+    }
+
+    @Test
+    public void all_sortedByDifficultyThenId() {
+        assertArrayEquals(new int[]{1, 2, 6, 3, 4, 5}, index.get(FilterType.ALL, SortType.DIFFICULTY));
+    }
+
+    @Test
+    public void all_sortedByPopularity() {
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6}, index.get(FilterType.ALL, SortType.POPULAR));
+    }
+
+    @Test
+    public void title_nullsFirst() {
+        List<Course> withUntitled = new ArrayList<>(catalog);
+        withUntitled.add(course(7, null, "HTML", 1));
+
+        assertArrayEquals(new int[]{7, 1, 5},
+                CourseListIndex.build(withUntitled).get(FilterType.HTML, SortType.TITLE));
+    }
+
+    // ==================== FILTER ====================
+
+    @Test
+    public void categoryFilters_keepSortOrder() {
+        assertArrayEquals(new int[]{1, 5}, index.get(FilterType.HTML, SortType.TITLE));
+        assertArrayEquals(new int[]{2, 3}, index.get(FilterType.CSS, SortType.TITLE));
+        assertArrayEquals(new int[]{4}, index.get(FilterType.JAVASCRIPT, SortType.TITLE));
+        assertArrayEquals(new int[]{2, 3}, index.get(FilterType.CSS, SortType.DIFFICULTY));
+    }
+
+    @Test
+    public void otherCategory_onlyInAll() {
+        int matched = 0;
+        for (FilterType filter : FilterType.values()) {
+            if (filter != FilterType.ALL) {
+                matched += index.get(filter, SortType.POPULAR).length;
+            }
+        }
+
+        assertEquals(catalog.size() - 1, matched);
+    }
+
+    @Test
+    public void emptyCatalog_hasEmptyViews() {
+        CourseListIndex empty = CourseListIndex.build(Collections.emptyList());
+
+        for (FilterType filter : FilterType.values()) {
+            for (SortType sort : SortType.values()) {
+                assertEquals(0, empty.get(filter, sort).length);
+            }
+        }
+    }
+
+    // ==================== IDENTITY ====================
+
+    @Test
+    public void isBuiltFrom_matchesCatalogInstance() {
+        assertTrue(index.isBuiltFrom(catalog));
+        assertFalse(index.isBuiltFrom(new ArrayList<>(catalog)));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static Course course(int id, String title, String category, int difficulty) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle(title);
+        course.setCategory(category);
+        course.setDifficulty(difficulty);
+        return course;
+    }
+}
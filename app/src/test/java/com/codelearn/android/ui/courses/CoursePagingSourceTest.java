@@ -0,0 +1,167 @@
+package com.codelearn.android.ui.courses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingSource.LoadParams;
+import androidx.paging.PagingSource.LoadResult;
+import androidx.paging.PagingState;
+
+import com.codelearn.android.data.CourseRepository;
+import com.codelearn.android.model.Course;
+import com.codelearn.android.model.CourseItem;
+import com.codelearn.android.utils.Constants;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for CoursePagingSource page keys and counts
+ * Pages load inline, so every future is done when loadFuture() returns.
+ */
+public class CoursePagingSourceTest {
+
+    private static final int COURSE_COUNT = 45;
+
+    private CourseRepository courseRepository;
+    private CoursePagingSource source;
+
+    @Before
+    public void setUp() {
+        courseRepository = mock(CourseRepository.class);
+        when(courseRepository.getCourseById(anyInt())).thenAnswer(invocation -> course(invocation.getArgument(0)));
+
+        int[] courseIds = new int[COURSE_COUNT];
+        for (int i = 0; i < courseIds.length; i++) {
+            courseIds[i] = i + 1;
+        }
+        source = new CoursePagingSource(courseIds, courseRepository, Runnable::run);
+    }
+
+    // ==================== LOAD ====================
+
+    @Test
+    public void refresh_withoutKey_loadsFirstPage() throws Exception {
+        LoadResult.Page<Integer, CourseItem> page = load(new LoadParams.Refresh<>(null, Constants.PAGE_SIZE, true));
+
+        assertNull(page.getPrevKey());
+        assertEquals(Integer.valueOf(Constants.FIRST_PAGE + 1), page.getNextKey());
+        assertEquals(0, page.getItemsBefore());
+        assertEquals(COURSE_COUNT - Constants.PAGE_SIZE, page.getItemsAfter());
+        assertEquals(1, page.getData().get(0).getId());
+    }
+
+    @Test
+    public void load_whenCourseDroppedByReload_isInvalid() throws Exception {
+        when(courseRepository.getCourseById(13)).thenReturn(null);
+
+        // Counts must match the data under placeholders, so the page is not served without it
+        assertTrue(source.loadFuture(new LoadParams.Refresh<>(null, Constants.PAGE_SIZE, true)).get()
+                instanceof LoadResult.Invalid);
+        assertEquals(Integer.valueOf(3), page(source.loadFuture(
+                new LoadParams.Append<>(2, Constants.PAGE_SIZE, true)).get()).getNextKey());
+    }
+
+    @Test
+    public void append_continuesFromKey() throws Exception {
+        LoadResult.Page<Integer, CourseItem> page = load(new LoadParams.Append<>(2, Constants.PAGE_SIZE, true));
+
+        assertEquals(Integer.valueOf(1), page.getPrevKey());
+        assertEquals(Integer.valueOf(3), page.getNextKey());
+        assertEquals(Constants.PAGE_SIZE, page.getItemsBefore());
+        assertEquals(21, page.getData().get(0).getId());
+        assertEquals(40, page.getData().get(Constants.PAGE_SIZE - 1).getId());
+    }
+
+    @Test
+    public void lastPage_hasNoNextKey() throws Exception {
+        LoadResult.Page<Integer, CourseItem> page = load(new LoadParams.Append<>(3, Constants.PAGE_SIZE, true));
+
+        assertNull(page.getNextKey());
+        assertEquals(0, page.getItemsAfter());
+        assertEquals(COURSE_COUNT - 2 * Constants.PAGE_SIZE, page.getData().size());
+    }
+
+    @Test
+    public void largerLoadSize_spansSeveralPages() throws Exception {
+        LoadResult.Page<Integer, CourseItem> page = load(new LoadParams.Refresh<>(1, 2 * Constants.PAGE_SIZE, true));
+
+        assertEquals(2 * Constants.PAGE_SIZE, page.getData().size());
+        assertEquals(Integer.valueOf(3), page.getNextKey());
+        assertEquals(COURSE_COUNT - 2 * Constants.PAGE_SIZE, page.getItemsAfter());
+    }
+
+    @Test
+    public void keyPastEnd_clampsToLastPage() throws Exception {
+        LoadResult.Page<Integer, CourseItem> page = load(new LoadParams.Refresh<>(9, Constants.PAGE_SIZE, true));
+
+        assertEquals(Integer.valueOf(2), page.getPrevKey());
+        assertNull(page.getNextKey());
+        assertEquals(41, page.getData().get(0).getId());
+    }
+
+    @Test
+    public void emptyResult_loadsEmptyFirstPage() throws Exception {
+        CoursePagingSource empty = new CoursePagingSource(new int[0], courseRepository, Runnable::run);
+
+        LoadResult.Page<Integer, CourseItem> page = page(empty.loadFuture(
+                new LoadParams.Refresh<>(4, Constants.PAGE_SIZE, true)).get());
+
+        assertTrue(page.getData().isEmpty());
+        assertNull(page.getPrevKey());
+        assertNull(page.getNextKey());
+        assertEquals(0, page.getItemsBefore());
+        assertEquals(0, page.getItemsAfter());
+    }
+
+    // ==================== REFRESH KEY ====================
+
+    @Test
+    public void refreshKey_isPageOfAnchor() {
+        assertNull(source.getRefreshKey(state(null)));
+        assertEquals(Integer.valueOf(1), source.getRefreshKey(state(0)));
+        assertEquals(Integer.valueOf(1), source.getRefreshKey(state(Constants.PAGE_SIZE - 1)));
+        assertEquals(Integer.valueOf(2), source.getRefreshKey(state(Constants.PAGE_SIZE)));
+        assertEquals(Integer.valueOf(3), source.getRefreshKey(state(COURSE_COUNT - 1)));
+    }
+
+    @Test
+    public void jumping_isSupported() {
+        assertTrue(source.getJumpingSupported());
+    }
+
+    // ==================== HELPERS ====================
+
+    private LoadResult.Page<Integer, CourseItem> load(LoadParams<Integer> params) throws Exception {
+        return page(source.loadFuture(params).get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LoadResult.Page<Integer, CourseItem> page(LoadResult<Integer, CourseItem> result) {
+        assertTrue(result instanceof LoadResult.Page);
+        return (LoadResult.Page<Integer, CourseItem>) result;
+    }
+
+    private static PagingState<Integer, CourseItem> state(Integer anchorPosition) {
+        List<LoadResult.Page<Integer, CourseItem>> pages = new ArrayList<>();
+        pages.add(new LoadResult.Page<>(Collections.emptyList(), null, null, 0, COURSE_COUNT));
+        return new PagingState<>(pages, anchorPosition, new PagingConfig(Constants.PAGE_SIZE), 0);
+    }
+
+    private static Course course(int id) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle("Kursus " + id);
+        course.setCategory("HTML");
+        return course;
+    }
+}